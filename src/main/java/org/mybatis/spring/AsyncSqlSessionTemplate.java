@@ -0,0 +1,344 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+/**
+ * Asynchronous facade over a {@link SqlSessionTemplate}. Every operation is executed on the configured
+ * {@link Executor} and its result is exposed as a {@link CompletableFuture}, so callers can fan out independent queries
+ * instead of running them one after the other.
+ * <p>
+ * Operations run on executor threads and therefore never join a Spring transaction active on the calling thread. Each
+ * operation gets its own non-transactional {@code SqlSession} whose life-cycle (commit and close) is handled by the
+ * wrapped template through {@link SqlSessionUtils}. Exceptions are translated by the template exactly as for blocking
+ * calls and complete the returned future exceptionally.
+ * <p>
+ * The number of operations running at the same time can be bounded with {@code maxConcurrency}. Operations above the
+ * limit are queued without blocking any thread and dispatched as soon as a running one completes. Share one instance
+ * per {@code DataSource} and keep the limit at or below the connection pool size so concurrent callers queue here
+ * rather than inside the pool.
+ *
+ * <pre class="code">
+ * {@code
+ * var async = new AsyncSqlSessionTemplate(sqlSessionTemplate, taskExecutor, 10);
+ * var user = async.selectOne("org.example.UserMapper.findById", 1);
+ * var orders = async.selectList("org.example.OrderMapper.findByUser", 1);
+ * CompletableFuture.allOf(user, orders).join();
+ * }
+ * </pre>
+ *
+ * @see SqlSessionTemplate
+ *
+ * @since 4.1.1
+ */
+public class AsyncSqlSessionTemplate {
+
+  private final SqlSessionTemplate sqlSessionTemplate;
+
+  private final Executor executor;
+
+  private final Semaphore permits;
+
+  private final Queue<AsyncOperation<?>> pendingOperations = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Constructs an asynchronous template over a new {@code SqlSessionTemplate} created from the given factory, without
+   * a concurrency limit.
+   *
+   * @param sqlSessionFactory
+   *          a factory of SqlSession
+   * @param executor
+   *          the executor that runs the operations
+   */
+  public AsyncSqlSessionTemplate(SqlSessionFactory sqlSessionFactory, Executor executor) {
+    this(new SqlSessionTemplate(sqlSessionFactory), executor, 0);
+  }
+
+  /**
+   * Constructs an asynchronous template over the given {@code SqlSessionTemplate}.
+   *
+   * @param sqlSessionTemplate
+   *          the template that executes the operations
+   * @param executor
+   *          the executor that runs the operations
+   * @param maxConcurrency
+   *          the maximum number of operations running at the same time, {@code 0} for no limit
+   */
+  public AsyncSqlSessionTemplate(SqlSessionTemplate sqlSessionTemplate, Executor executor, int maxConcurrency) {
+    notNull(sqlSessionTemplate, "Property 'sqlSessionTemplate' is required");
+    notNull(executor, "Property 'executor' is required");
+    isTrue(maxConcurrency >= 0, "Property 'maxConcurrency' must not be negative");
+
+    this.sqlSessionTemplate = sqlSessionTemplate;
+    this.executor = executor;
+    this.permits = maxConcurrency == 0 ? null : new Semaphore(maxConcurrency);
+  }
+
+  /**
+   * Gets the sql session template.
+   *
+   * @return the sql session template
+   */
+  public SqlSessionTemplate getSqlSessionTemplate() {
+    return this.sqlSessionTemplate;
+  }
+
+  /**
+   * Gets the number of operations waiting for a free slot.
+   *
+   * @return the number of queued operations
+   */
+  public int getPendingCount() {
+    return this.pendingOperations.size();
+  }
+
+  /**
+   * Executes the given callback with the Spring managed {@code SqlSession}. Useful to call mapper methods
+   * asynchronously: {@code async.execute(session -> session.getMapper(UserMapper.class).findAll())}.
+   *
+   * @param <T>
+   *          the result type
+   * @param action
+   *          the callback to execute
+   *
+   * @return a future completed with the callback result
+   */
+  public <T> CompletableFuture<T> execute(Function<SqlSession, T> action) {
+    notNull(action, "Parameter 'action' must be not null");
+    return submit(() -> action.apply(this.sqlSessionTemplate));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectOne(String)}.
+   *
+   * @param <T>
+   *          the returned object type
+   * @param statement
+   *          the statement
+   *
+   * @return a future completed with the mapped object
+   */
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return submit(() -> this.sqlSessionTemplate.selectOne(statement));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectOne(String, Object)}.
+   *
+   * @param <T>
+   *          the returned object type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a future completed with the mapped object
+   */
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return submit(() -> this.sqlSessionTemplate.selectOne(statement, parameter));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectList(String)}.
+   *
+   * @param <E>
+   *          the returned list element type
+   * @param statement
+   *          the statement
+   *
+   * @return a future completed with the list of mapped objects
+   */
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return submit(() -> this.sqlSessionTemplate.selectList(statement));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectList(String, Object)}.
+   *
+   * @param <E>
+   *          the returned list element type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a future completed with the list of mapped objects
+   */
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return submit(() -> this.sqlSessionTemplate.selectList(statement, parameter));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectList(String, Object, RowBounds)}.
+   *
+   * @param <E>
+   *          the returned list element type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   * @param rowBounds
+   *          bounds to limit object retrieval
+   *
+   * @return a future completed with the list of mapped objects
+   */
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return submit(() -> this.sqlSessionTemplate.selectList(statement, parameter, rowBounds));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#selectMap(String, Object, String)}.
+   *
+   * @param <K>
+   *          the returned map key type
+   * @param <V>
+   *          the returned map value type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   * @param mapKey
+   *          the property to use as key for each value in the map
+   *
+   * @return a future completed with the map of mapped objects
+   */
+  public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+    return submit(() -> this.sqlSessionTemplate.selectMap(statement, parameter, mapKey));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#insert(String, Object)}.
+   *
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a future completed with the number of affected rows
+   */
+  public CompletableFuture<Integer> insert(String statement, Object parameter) {
+    return submit(() -> this.sqlSessionTemplate.insert(statement, parameter));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#update(String, Object)}.
+   *
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a future completed with the number of affected rows
+   */
+  public CompletableFuture<Integer> update(String statement, Object parameter) {
+    return submit(() -> this.sqlSessionTemplate.update(statement, parameter));
+  }
+
+  /**
+   * Asynchronous version of {@link SqlSession#delete(String, Object)}.
+   *
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a future completed with the number of affected rows
+   */
+  public CompletableFuture<Integer> delete(String statement, Object parameter) {
+    return submit(() -> this.sqlSessionTemplate.delete(statement, parameter));
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> action) {
+    var operation = new AsyncOperation<>(action);
+    if (this.permits == null) {
+      dispatch(operation);
+    } else {
+      this.pendingOperations.offer(operation);
+      dispatchPendingOperations();
+    }
+    return operation.future;
+  }
+
+  private void dispatchPendingOperations() {
+    while (this.permits.tryAcquire()) {
+      var operation = this.pendingOperations.poll();
+      if (operation == null) {
+        this.permits.release();
+        // an operation may have been queued while this thread was holding the permit
+        if (this.pendingOperations.isEmpty()) {
+          return;
+        }
+      } else {
+        dispatch(operation);
+      }
+    }
+  }
+
+  private void dispatch(AsyncOperation<?> operation) {
+    try {
+      this.executor.execute(operation);
+    } catch (RuntimeException e) {
+      operation.future.completeExceptionally(e);
+      operationCompleted();
+    }
+  }
+
+  private void operationCompleted() {
+    if (this.permits != null) {
+      this.permits.release();
+      dispatchPendingOperations();
+    }
+  }
+
+  private final class AsyncOperation<T> implements Runnable {
+
+    private final Supplier<T> action;
+
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private AsyncOperation(Supplier<T> action) {
+      this.action = action;
+    }
+
+    @Override
+    public void run() {
+      try {
+        this.future.complete(this.action.get());
+      } catch (Throwable t) {
+        this.future.completeExceptionally(t);
+      } finally {
+        operationCompleted();
+      }
+    }
+  }
+
+}
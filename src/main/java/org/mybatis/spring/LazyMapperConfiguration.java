@@ -0,0 +1,624 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMap;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+/**
+ * MyBatis {@code Configuration} that parses mapper XML files on first use. At startup, {@link #addLazyMapperLocation}
+ * only reads the namespace, the statement ids and the references to other namespaces of a file, with a streaming
+ * parser. The whole file is parsed the first time a statement, result map or cache of its namespace is looked up,
+ * after the files of the namespaces it references.
+ * <p>
+ * Lookups are guarded by a read/write lock as long as some namespaces are not parsed yet; once the last one is parsed,
+ * and unless the configuration is reloadable, they no longer take any lock. Load listeners are notified under the write
+ * lock, so lookups never see the elements of a file before its listeners ran. Statements added by mapper interface
+ * annotations that reference elements of a lazy mapper file are resolved when that file is parsed.
+ * <p>
+ * Mapper interfaces whose registration is deferred to their first call are added under the same write lock, see
+ * {@link #deferMapper(Class)}.
+ * <p>
+ * When {@link #setReloadable(boolean) reloadable}, the elements added by each file are recorded and
+ * {@link #reloadMapperLocation(Resource)} replaces them with the ones of the current content of the file, under the
+ * write lock: lookups wait for the swap and never see a partially reloaded namespace, while statements already being
+ * executed keep using the elements they were given.
+ *
+ * @see SqlSessionFactoryBean#setLazyMapperLocations(boolean)
+ *
+ * @since 4.1.1
+ */
+public class LazyMapperConfiguration extends Configuration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazyMapperConfiguration.class);
+
+  private static final String NAMESPACE_RESOURCE_PREFIX = "namespace:";
+
+  private static final Set<String> STATEMENT_ELEMENTS = Set.of("select", "insert", "update", "delete");
+
+  private static final Set<String> REFERENCE_ATTRIBUTES = Set.of("resultMap", "refid", "extends", "select",
+      "namespace");
+
+  private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+  private final Map<String, IndexedMapper> pendingNamespaces = new ConcurrentHashMap<>();
+
+  private final Map<String, Set<String>> shortStatementNamespaces = new ConcurrentHashMap<>();
+
+  private final ReentrantReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+  private final List<Consumer<String>> loadListeners = new CopyOnWriteArrayList<>();
+
+  private final Map<String, LoadedMapper> loadedMappers = new ConcurrentHashMap<>();
+
+  private final Set<Class<?>> deferredMappers = ConcurrentHashMap.newKeySet();
+
+  private final ThreadLocal<LoadedMapper> parsingMapper = new ThreadLocal<>();
+
+  private volatile boolean reloadable;
+
+  private volatile boolean lockFree = true;
+
+  /**
+   * Creates a configuration.
+   */
+  public LazyMapperConfiguration() {
+  }
+
+  /**
+   * Creates a configuration with an environment.
+   *
+   * @param environment
+   *          the environment
+   */
+  public LazyMapperConfiguration(Environment environment) {
+    super(environment);
+  }
+
+  /**
+   * Indexes a mapper XML file, to be parsed on first use of its namespace.
+   *
+   * @param mapperLocation
+   *          the mapper XML file
+   *
+   * @throws IOException
+   *           if the file cannot be read or has no namespace
+   */
+  public void addLazyMapperLocation(Resource mapperLocation) throws IOException {
+    var mapper = index(mapperLocation);
+    if (isResourceLoaded(NAMESPACE_RESOURCE_PREFIX + mapper.namespace)) {
+      throw new IOException("Namespace '" + mapper.namespace + "' of mapping resource '" + mapperLocation
+          + "' is already loaded");
+    }
+    this.lockFree = false;
+    this.pendingNamespaces.put(mapper.namespace, mapper);
+    for (String statementId : mapper.statementIds) {
+      this.shortStatementNamespaces.computeIfAbsent(statementId, id -> ConcurrentHashMap.newKeySet())
+          .add(mapper.namespace);
+    }
+  }
+
+  /**
+   * Registers a callback notified with the namespace of every lazily parsed mapper file. Callbacks are run under the
+   * write lock, before lookups can see the parsed elements.
+   *
+   * @param listener
+   *          the callback
+   */
+  public void addLoadListener(Consumer<String> listener) {
+    this.loadListeners.add(listener);
+  }
+
+  /**
+   * Announces a mapper interface that will be added on its first use by {@link #addDeferredMapper(Class)}. Until then,
+   * lookups take the read lock, as for a mapper file not parsed yet.
+   *
+   * @param type
+   *          the mapper interface
+   */
+  public void deferMapper(Class<?> type) {
+    this.deferredMappers.add(type);
+    this.lockFree = false;
+  }
+
+  /**
+   * Adds a mapper interface announced by {@link #deferMapper(Class)}, unless it is already known. The mapper is added
+   * under the write lock, so lookups of other threads never see its statements partially added.
+   *
+   * @param type
+   *          the mapper interface
+   */
+  public void addDeferredMapper(Class<?> type) {
+    var writeLock = this.loadLock.writeLock();
+    writeLock.lock();
+    try {
+      if (!super.hasMapper(type)) {
+        addMapper(type);
+      }
+      this.deferredMappers.remove(type);
+      updateLockFree();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the namespaces not parsed yet.
+   *
+   * @return the pending namespaces
+   */
+  public Set<String> getPendingNamespaces() {
+    return Set.copyOf(this.pendingNamespaces.keySet());
+  }
+
+  /**
+   * Enables {@link #reloadMapperLocation(Resource)}. Must be set before mapper files are added: only the elements of
+   * files parsed while reloadable can be replaced. Lookups then always take the read lock.
+   *
+   * @param reloadable
+   *          whether mapper files can be reloaded
+   */
+  public void setReloadable(boolean reloadable) {
+    this.reloadable = reloadable;
+    if (reloadable) {
+      this.lockFree = false;
+    }
+  }
+
+  /**
+   * Returns whether mapper files can be reloaded.
+   *
+   * @return {@code true} if mapper files can be reloaded
+   */
+  public boolean isReloadable() {
+    return this.reloadable;
+  }
+
+  /**
+   * Parses again a mapper XML file added by {@link #addLazyMapperLocation(Resource)} and atomically replaces the
+   * statements, result maps, parameter maps, key generators, cache and sql fragments it declared. Statements added by
+   * mapper interface annotations are kept. If the new content cannot be parsed, the previous elements are restored.
+   * <p>
+   * Caches referenced by other namespaces with {@code cache-ref} keep using the previous cache.
+   *
+   * @param mapperLocation
+   *          the changed mapper XML file
+   *
+   * @throws IOException
+   *           if the file cannot be read, was not added to this configuration or its new namespace is already used
+   */
+  public void reloadMapperLocation(Resource mapperLocation) throws IOException {
+    if (!this.reloadable) {
+      throw new IllegalStateException("Mapper files cannot be reloaded unless the configuration is reloadable");
+    }
+    var mapper = index(mapperLocation);
+    var writeLock = this.loadLock.writeLock();
+    writeLock.lock();
+    try {
+      var previous = this.loadedMappers.values().stream()
+          .filter(loaded -> loaded.resource.equals(mapperLocation.toString())).findFirst().orElse(null);
+      if (previous == null) {
+        var pending = this.pendingNamespaces.values().stream()
+            .filter(indexed -> indexed.resource.toString().equals(mapperLocation.toString())).findFirst()
+            .orElseThrow(() -> new IOException("Mapping resource '" + mapperLocation + "' was not added"));
+        // not parsed yet: the new content will be parsed on first use
+        this.pendingNamespaces.remove(pending.namespace);
+        addLazyMapperLocation(mapperLocation);
+        return;
+      }
+      if (!previous.namespace.equals(mapper.namespace) && (this.loadedMappers.containsKey(mapper.namespace)
+          || this.pendingNamespaces.containsKey(mapper.namespace))) {
+        throw new IOException("Namespace '" + mapper.namespace + "' of mapping resource '" + mapperLocation
+            + "' is already loaded");
+      }
+      var restore = remove(previous);
+      var reloaded = new LoadedMapper(mapper.namespace, mapperLocation.toString());
+      try {
+        parse(mapper, reloaded);
+      } catch (RuntimeException e) {
+        remove(reloaded);
+        restore.run();
+        this.loadedMappers.put(previous.namespace, previous);
+        throw e;
+      }
+      this.loadListeners.forEach(listener -> listener.accept(mapper.namespace));
+    } finally {
+      writeLock.unlock();
+    }
+    LOGGER.debug(() -> "Reloaded mapper file: '" + mapperLocation + "'");
+  }
+
+  /**
+   * Parses all the mapper files not parsed yet.
+   */
+  public void loadAllMappers() {
+    if (!this.pendingNamespaces.isEmpty()) {
+      load(new ArrayList<>(this.pendingNamespaces.keySet()));
+    }
+  }
+
+  @Override
+  public MappedStatement getMappedStatement(String id, boolean validateIncompleteStatements) {
+    loadNamespacesOf(id, true);
+    return read(() -> super.getMappedStatement(id, validateIncompleteStatements));
+  }
+
+  @Override
+  public boolean hasStatement(String statementName, boolean validateIncompleteStatements) {
+    loadNamespacesOf(statementName, true);
+    return read(() -> super.hasStatement(statementName, validateIncompleteStatements));
+  }
+
+  @Override
+  public <T> T getMapper(Class<T> type, SqlSession sqlSession) {
+    return read(() -> super.getMapper(type, sqlSession));
+  }
+
+  @Override
+  public boolean hasMapper(Class<?> type) {
+    return read(() -> super.hasMapper(type));
+  }
+
+  @Override
+  public Collection<String> getMappedStatementNames() {
+    loadAllMappers();
+    return super.getMappedStatementNames();
+  }
+
+  @Override
+  public Collection<MappedStatement> getMappedStatements() {
+    loadAllMappers();
+    return super.getMappedStatements();
+  }
+
+  @Override
+  public ResultMap getResultMap(String id) {
+    loadNamespacesOf(id, false);
+    return read(() -> super.getResultMap(id));
+  }
+
+  @Override
+  public boolean hasResultMap(String id) {
+    loadNamespacesOf(id, false);
+    return read(() -> super.hasResultMap(id));
+  }
+
+  @Override
+  public Cache getCache(String id) {
+    loadNamespacesOf(id, false);
+    return read(() -> super.getCache(id));
+  }
+
+  @Override
+  public boolean hasCache(String id) {
+    loadNamespacesOf(id, false);
+    return read(() -> super.hasCache(id));
+  }
+
+  @Override
+  public void addMappedStatement(MappedStatement ms) {
+    super.addMappedStatement(ms);
+    record(ms.getId(), loaded -> loaded.statementIds);
+  }
+
+  @Override
+  public void addResultMap(ResultMap rm) {
+    super.addResultMap(rm);
+    record(rm.getId(), loaded -> loaded.resultMapIds);
+  }
+
+  @Override
+  public void addParameterMap(ParameterMap pm) {
+    super.addParameterMap(pm);
+    record(pm.getId(), loaded -> loaded.parameterMapIds);
+  }
+
+  @Override
+  public void addKeyGenerator(String id, KeyGenerator keyGenerator) {
+    super.addKeyGenerator(id, keyGenerator);
+    record(id, loaded -> loaded.keyGeneratorIds);
+  }
+
+  @Override
+  public void addCache(Cache cache) {
+    super.addCache(cache);
+    record(cache.getId(), loaded -> loaded.cacheIds);
+  }
+
+  /**
+   * Reports the namespaces of pending mapper files as loaded, so that registering their mapper interface does not load
+   * the XML file found next to it.
+   */
+  @Override
+  public boolean isResourceLoaded(String resource) {
+    if (resource.startsWith(NAMESPACE_RESOURCE_PREFIX)
+        && this.pendingNamespaces.containsKey(resource.substring(NAMESPACE_RESOURCE_PREFIX.length()))) {
+      return true;
+    }
+    return super.isResourceLoaded(resource);
+  }
+
+  private void loadNamespacesOf(String id, boolean statement) {
+    // references met while a file is parsed or a lookup resolves incomplete elements are left to MyBatis' own
+    // incomplete element handling, and a read lock cannot be upgraded
+    if (this.lockFree || this.pendingNamespaces.isEmpty() || this.loadLock.isWriteLockedByCurrentThread()
+        || this.loadLock.getReadHoldCount() > 0) {
+      return;
+    }
+    Set<String> namespaces = new HashSet<>();
+    if (this.pendingNamespaces.containsKey(id)) {
+      namespaces.add(id);
+    }
+    var lastPeriod = id.lastIndexOf('.');
+    if (lastPeriod > 0 && this.pendingNamespaces.containsKey(id.substring(0, lastPeriod))) {
+      namespaces.add(id.substring(0, lastPeriod));
+    } else if (statement && lastPeriod < 0) {
+      namespaces.addAll(this.shortStatementNamespaces.getOrDefault(id, Set.of()));
+    }
+    namespaces.retainAll(this.pendingNamespaces.keySet());
+    if (!namespaces.isEmpty()) {
+      load(namespaces);
+    }
+  }
+
+  private void load(Collection<String> namespaces) {
+    var writeLock = this.loadLock.writeLock();
+    writeLock.lock();
+    try {
+      Set<String> ordered = new LinkedHashSet<>();
+      Set<String> visited = new HashSet<>();
+      for (String namespace : namespaces) {
+        collect(namespace, visited, ordered);
+      }
+      for (String namespace : ordered) {
+        var mapper = this.pendingNamespaces.get(namespace);
+        parse(mapper, this.reloadable ? new LoadedMapper(namespace, mapper.resource.toString()) : null);
+      }
+      for (String namespace : ordered) {
+        this.loadListeners.forEach(listener -> listener.accept(namespace));
+      }
+      updateLockFree();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void collect(String namespace, Set<String> visited, Set<String> ordered) {
+    var mapper = this.pendingNamespaces.get(namespace);
+    if (mapper == null || !visited.add(namespace)) {
+      return;
+    }
+    for (String reference : mapper.references) {
+      collect(reference, visited, ordered);
+      var lastPeriod = reference.lastIndexOf('.');
+      if (lastPeriod > 0) {
+        collect(reference.substring(0, lastPeriod), visited, ordered);
+      }
+    }
+    ordered.add(namespace);
+  }
+
+  private void parse(IndexedMapper mapper, LoadedMapper loadedMapper) {
+    this.parsingMapper.set(loadedMapper);
+    try {
+      var xmlMapperBuilder = new XMLMapperBuilder(mapper.resource.getInputStream(), this, mapper.resource.toString(),
+          getSqlFragments());
+      xmlMapperBuilder.parse();
+    } catch (Exception e) {
+      throw new BuilderException("Failed to parse mapping resource: '" + mapper.resource + "'", e);
+    } finally {
+      // a file that failed is not parsed again, a second attempt would meet its already added elements
+      this.pendingNamespaces.remove(mapper.namespace);
+      this.parsingMapper.remove();
+      if (loadedMapper != null) {
+        this.loadedMappers.put(mapper.namespace, loadedMapper);
+      }
+      ErrorContext.instance().reset();
+    }
+    LOGGER.debug(() -> "Parsed mapper file on first use: '" + mapper.resource + "'");
+  }
+
+  private void record(String id, Function<LoadedMapper, Set<String>> ids) {
+    var loadedMapper = this.parsingMapper.get();
+    // pending elements of other namespaces may be completed while a file is parsed
+    if (loadedMapper != null && (id.equals(loadedMapper.namespace) || id.startsWith(loadedMapper.namespace + "."))) {
+      ids.apply(loadedMapper).add(id);
+    }
+  }
+
+  /**
+   * Removes the elements added by a mapper file and returns the action that puts them back.
+   */
+  private Runnable remove(LoadedMapper loadedMapper) {
+    this.loadedMappers.remove(loadedMapper.namespace, loadedMapper);
+    var sqlFragmentIds = new HashSet<String>();
+    for (String id : this.sqlFragments.keySet()) {
+      if (id.startsWith(loadedMapper.namespace + ".")) {
+        sqlFragmentIds.add(id);
+      }
+    }
+    List<Runnable> restoreActions = new ArrayList<>();
+    restoreActions.add(removeEntries(this.mappedStatements, loadedMapper.statementIds));
+    restoreActions.add(removeEntries(this.resultMaps, loadedMapper.resultMapIds));
+    restoreActions.add(removeEntries(this.parameterMaps, loadedMapper.parameterMapIds));
+    restoreActions.add(removeEntries(this.keyGenerators, loadedMapper.keyGeneratorIds));
+    restoreActions.add(removeEntries(this.caches, loadedMapper.cacheIds));
+    restoreActions.add(removeEntries(this.sqlFragments, sqlFragmentIds));
+    if (this.loadedResources.remove(loadedMapper.resource)) {
+      restoreActions.add(() -> this.loadedResources.add(loadedMapper.resource));
+    }
+    return () -> restoreActions.forEach(Runnable::run);
+  }
+
+  private static <V> Runnable removeEntries(Map<String, V> map, Collection<String> ids) {
+    Map<String, V> removed = new HashMap<>();
+    for (String id : ids) {
+      var value = map.remove(id);
+      if (value != null) {
+        removed.put(id, value);
+        // the short name is only removed when it is not an ambiguity marker
+        var shortId = id.substring(id.lastIndexOf('.') + 1);
+        if (map.remove(shortId, value)) {
+          removed.put(shortId, value);
+        }
+      }
+    }
+    // bypasses the duplicate check of put, the entries are put back as they were
+    return () -> map.putAll(removed);
+  }
+
+  private void updateLockFree() {
+    // set last under the write lock, the lookups that skip the lock must only see complete namespaces and mappers
+    this.lockFree = this.pendingNamespaces.isEmpty() && this.deferredMappers.isEmpty() && !this.reloadable;
+  }
+
+  private <T> T read(Supplier<T> action) {
+    if (this.lockFree) {
+      return action.get();
+    }
+    var readLock = this.loadLock.readLock();
+    readLock.lock();
+    try {
+      return action.get();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private static IndexedMapper index(Resource mapperLocation) throws IOException {
+    String namespace = null;
+    Set<String> statementIds = new HashSet<>();
+    Set<String> references = new HashSet<>();
+    try (var inputStream = mapperLocation.getInputStream()) {
+      var reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+      try {
+        var depth = 0;
+        while (reader.hasNext()) {
+          var event = reader.next();
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            depth++;
+            if (depth == 1) {
+              namespace = reader.getAttributeValue(null, "namespace");
+            } else if (depth == 2 && STATEMENT_ELEMENTS.contains(reader.getLocalName())) {
+              statementIds.add(reader.getAttributeValue(null, "id"));
+            }
+            for (var i = 0; i < reader.getAttributeCount(); i++) {
+              if (REFERENCE_ATTRIBUTES.contains(reader.getAttributeLocalName(i))) {
+                for (String reference : reader.getAttributeValue(i).split(",")) {
+                  references.add(reference.trim());
+                }
+              }
+            }
+          } else if (event == XMLStreamConstants.END_ELEMENT) {
+            depth--;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Failed to index mapping resource: '" + mapperLocation + "'", e);
+    }
+    if (namespace == null || namespace.isEmpty()) {
+      throw new IOException("Mapper's namespace cannot be empty in mapping resource: '" + mapperLocation + "'");
+    }
+    references.remove(namespace);
+    return new IndexedMapper(namespace, mapperLocation, statementIds, references);
+  }
+
+  private static XMLInputFactory newXmlInputFactory() {
+    var factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * The ids of the elements added by a parsed mapper file.
+   */
+  private static final class LoadedMapper {
+
+    private final String namespace;
+
+    private final String resource;
+
+    private final Set<String> statementIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> resultMapIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> parameterMapIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> keyGeneratorIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> cacheIds = ConcurrentHashMap.newKeySet();
+
+    private LoadedMapper(String namespace, String resource) {
+      this.namespace = namespace;
+      this.resource = resource;
+    }
+  }
+
+  private static final class IndexedMapper {
+
+    private final String namespace;
+
+    private final Resource resource;
+
+    private final Set<String> statementIds;
+
+    private final Set<String> references;
+
+    private IndexedMapper(String namespace, Resource resource, Set<String> statementIds, Set<String> references) {
+      this.namespace = namespace;
+      this.resource = resource;
+      this.statementIds = statementIds;
+      this.references = references;
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by {@link SqlSessionFactoryBean} once the mapped statements, result maps and caches of its
+ * {@code SqlSessionFactory} have been validated in the background. Listen to it, or poll
+ * {@link SqlSessionFactoryBean#getValidationResult()} from a health indicator, to learn about mapping problems without
+ * delaying the readiness of the application.
+ *
+ * @see SqlSessionFactoryBean#setValidationExecutor(java.util.concurrent.Executor)
+ *
+ * @since 4.1.1
+ */
+public class MappedStatementValidationEvent extends ApplicationEvent {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int statementCount;
+
+  private final List<String> problems;
+
+  private final Duration duration;
+
+  /**
+   * Creates a validation event.
+   *
+   * @param sqlSessionFactory
+   *          the validated factory
+   * @param statementCount
+   *          the number of mapped statements found
+   * @param problems
+   *          the description of the problems found, empty if the configuration is valid
+   * @param duration
+   *          the time spent validating
+   */
+  public MappedStatementValidationEvent(SqlSessionFactory sqlSessionFactory, int statementCount, List<String> problems,
+      Duration duration) {
+    super(sqlSessionFactory);
+    this.statementCount = statementCount;
+    this.problems = List.copyOf(problems);
+    this.duration = duration;
+  }
+
+  /**
+   * Gets the validated factory.
+   *
+   * @return the sql session factory
+   */
+  public SqlSessionFactory getSqlSessionFactory() {
+    return (SqlSessionFactory) getSource();
+  }
+
+  /**
+   * Gets the number of mapped statements found.
+   *
+   * @return the number of statements
+   */
+  public int getStatementCount() {
+    return this.statementCount;
+  }
+
+  /**
+   * Gets the description of the problems found.
+   *
+   * @return the problems, empty if the configuration is valid
+   */
+  public List<String> getProblems() {
+    return this.problems;
+  }
+
+  /**
+   * Returns whether no problem was found.
+   *
+   * @return {@code true} if the configuration is valid
+   */
+  public boolean isValid() {
+    return this.problems.isEmpty();
+  }
+
+  /**
+   * Gets the time spent validating.
+   *
+   * @return the validation duration
+   */
+  public Duration getDuration() {
+    return this.duration;
+  }
+
+}
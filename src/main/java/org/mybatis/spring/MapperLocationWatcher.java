@@ -0,0 +1,147 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+/**
+ * Watches the mapper XML files of a reloadable {@link LazyMapperConfiguration} that are found on the file system, and
+ * reloads the ones that change on a daemon thread. Changes are collected until no event comes for a short quiet
+ * period, so that an editor saving a file in several writes triggers a single reload.
+ *
+ * @see SqlSessionFactoryBean#setWatchMapperLocations(boolean)
+ *
+ * @since 4.1.1
+ */
+final class MapperLocationWatcher implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MapperLocationWatcher.class);
+
+  private static final long QUIET_PERIOD_MILLIS = 200;
+
+  private final LazyMapperConfiguration configuration;
+
+  private final Map<Path, Resource> watchedFiles = new HashMap<>();
+
+  private final WatchService watchService;
+
+  private final Thread thread;
+
+  MapperLocationWatcher(LazyMapperConfiguration configuration, Resource[] mapperLocations) throws IOException {
+    this.configuration = configuration;
+    this.watchService = FileSystems.getDefault().newWatchService();
+    try {
+      Set<Path> directories = new HashSet<>();
+      for (Resource mapperLocation : mapperLocations) {
+        // resources inside jar files cannot change
+        if (mapperLocation == null || !mapperLocation.isFile()) {
+          continue;
+        }
+        var file = mapperLocation.getFile().toPath().toAbsolutePath().normalize();
+        this.watchedFiles.put(file, mapperLocation);
+        if (directories.add(file.getParent())) {
+          file.getParent().register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      this.watchService.close();
+      throw e;
+    }
+    this.thread = new Thread(this::watch, "mybatis-mapper-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    this.thread.start();
+    LOGGER.debug(() -> "Watching " + this.watchedFiles.size() + " mapper files for changes");
+  }
+
+  int getWatchedFileCount() {
+    return this.watchedFiles.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.watchService.close();
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        Set<Path> changedFiles = new LinkedHashSet<>();
+        var key = this.watchService.take();
+        while (key != null) {
+          collectChangedFiles(key, changedFiles);
+          key = this.watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        for (Path changedFile : changedFiles) {
+          var mapperLocation = this.watchedFiles.get(changedFile);
+          if (mapperLocation != null) {
+            reload(mapperLocation);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      // closed by the factory bean
+    }
+  }
+
+  private void collectChangedFiles(WatchKey key, Set<Path> changedFiles) {
+    var directory = (Path) key.watchable();
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        // events were lost: every file of the directory may have changed
+        this.watchedFiles.keySet().stream().filter(file -> file.getParent().equals(directory))
+            .forEach(changedFiles::add);
+      } else {
+        changedFiles.add(directory.resolve((Path) event.context()));
+      }
+    }
+    key.reset();
+  }
+
+  private void reload(Resource mapperLocation) {
+    try {
+      this.configuration.reloadMapperLocation(mapperLocation);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.error(() -> "Failed to reload mapper file: '" + mapperLocation + "', the previous version is kept", e);
+    }
+  }
+
+}
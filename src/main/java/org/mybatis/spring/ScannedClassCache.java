@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Names of the classes found by the type alias and type handler scans, shared by the factory beans of a class loader
+ * together with the metadata read from the class files. Released by {@link #clear(ClassLoader)} when a factory bean is
+ * destroyed, or when memory runs low.
+ */
+final class ScannedClassCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScannedClassCache.class);
+
+  private static final Map<ClassLoader, ScannedClassCache> CACHES = new ConcurrentReferenceHashMap<>();
+
+  private final ResourcePatternResolver resourcePatternResolver;
+
+  private final CachingMetadataReaderFactory metadataReaderFactory;
+
+  private final Map<List<String>, Set<String>> classNames = new ConcurrentHashMap<>();
+
+  private ScannedClassCache(ClassLoader classLoader) {
+    var resourceLoader = new DefaultResourceLoader(classLoader);
+    this.resourcePatternResolver = new PathMatchingResourcePatternResolver(resourceLoader);
+    // backed by a concurrent map of the resource loader, unlike the default constructor that synchronizes every read
+    this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+  }
+
+  static ScannedClassCache forClassLoader(ClassLoader classLoader) {
+    return CACHES.computeIfAbsent(classLoader, ScannedClassCache::new);
+  }
+
+  static void clear(ClassLoader classLoader) {
+    var cache = CACHES.remove(classLoader);
+    if (cache != null) {
+      cache.metadataReaderFactory.clearCache();
+    }
+  }
+
+  /**
+   * Finds the classes of a package pattern assignable to a type, scanning the class path only once per pattern and
+   * type. The class files are read in parallel and filtered on their metadata, so that only the matching classes are
+   * loaded afterwards.
+   */
+  Set<String> findClassNames(String packagePattern, Class<?> assignableType) throws IOException {
+    var key = Arrays.asList(packagePattern, assignableType == null ? null : assignableType.getName());
+    var cached = this.classNames.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    var resources = this.resourcePatternResolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+        + ClassUtils.convertClassNameToResourcePath(packagePattern) + "/**/*.class");
+    var typeFilter = assignableType == null ? null : new AssignableTypeFilter(assignableType);
+    Set<String> found = Arrays.stream(resources).parallel().map(resource -> {
+      try {
+        var metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
+        if (typeFilter == null || typeFilter.match(metadataReader, this.metadataReaderFactory)) {
+          return metadataReader.getClassMetadata().getClassName();
+        }
+      } catch (Throwable e) {
+        LOGGER.warn(() -> "Cannot load the '" + resource + "'. Cause by " + e.toString());
+      }
+      return null;
+    }).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    this.classNames.put(key, found);
+    return found;
+  }
+
+}
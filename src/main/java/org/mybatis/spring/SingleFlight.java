@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Lets concurrent callers asking for the same key share a single execution: the first caller runs the call and the
+ * others wait for its outcome, result or exception, instead of running the call again. Nothing is cached, once the
+ * call completes the next caller runs it again.
+ */
+final class SingleFlight {
+
+  private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder sharedCount = new LongAdder();
+
+  Object execute(Object key, Call call) throws Throwable {
+    var future = new CompletableFuture<Object>();
+    var existing = this.inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      this.sharedCount.increment();
+      return await(existing);
+    }
+    try {
+      var result = call.call();
+      future.complete(result);
+      return result;
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+      throw t;
+    } finally {
+      this.inFlight.remove(key, future);
+    }
+  }
+
+  long getSharedCount() {
+    return this.sharedCount.sum();
+  }
+
+  private static Object await(CompletableFuture<Object> future) throws Throwable {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransientDataAccessResourceException("Interrupted while waiting for a shared query result", e);
+    }
+  }
+
+  @FunctionalInterface
+  interface Call {
+    Object call() throws Throwable;
+  }
+
+}
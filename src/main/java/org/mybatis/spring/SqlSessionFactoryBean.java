@@ -24,14 +24,20 @@ import static org.springframework.util.StringUtils.tokenizeToStringArray;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
@@ -44,6 +50,7 @@ import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.io.VFS;
 import org.apache.ibatis.mapping.DatabaseIdProvider;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
@@ -55,17 +62,22 @@ import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.type.TypeHandler;
 import org.mybatis.logging.Logger;
 import org.mybatis.logging.LoggerFactory;
+import org.mybatis.spring.cache.CacheInvalidationBus;
+import org.mybatis.spring.cache.CacheInvalidationTransport;
+import org.mybatis.spring.cache.SpringCache;
 import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.Lifecycle;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.core.io.support.ResourcePatternResolver;
-import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
-import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.util.ClassUtils;
 
@@ -88,14 +100,11 @@ import org.springframework.util.ClassUtils;
  * @see #setConfigLocation
  * @see #setDataSource
  */
-public class SqlSessionFactoryBean
-    implements FactoryBean<SqlSessionFactory>, InitializingBean, ApplicationListener<ContextRefreshedEvent> {
+public class SqlSessionFactoryBean implements FactoryBean<SqlSessionFactory>, InitializingBean, DisposableBean,
+    ApplicationListener<ContextRefreshedEvent>, ApplicationStartupAware, Lifecycle {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SqlSessionFactoryBean.class);
 
-  private static final ResourcePatternResolver RESOURCE_PATTERN_RESOLVER = new PathMatchingResourcePatternResolver();
-  private static final MetadataReaderFactory METADATA_READER_FACTORY = new CachingMetadataReaderFactory();
-
   private Resource configLocation;
 
   private Configuration configuration;
@@ -117,6 +126,22 @@ public class SqlSessionFactoryBean
 
   private boolean failFast;
 
+  private boolean lazyMapperLocations;
+
+  private boolean watchMapperLocations;
+
+  private MapperLocationWatcher mapperLocationWatcher;
+
+  private Executor validationExecutor;
+
+  private volatile MappedStatementValidationEvent validationResult;
+
+  private final ReentrantLock validationLock = new ReentrantLock();
+
+  private volatile boolean running = true;
+
+  private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
   private Interceptor[] plugins;
 
   private TypeHandler<?>[] typeHandlers;
@@ -143,6 +168,10 @@ public class SqlSessionFactoryBean
 
   private Cache cache;
 
+  private CacheManager cacheManager;
+
+  private CacheInvalidationTransport cacheInvalidationTransport;
+
   private ObjectFactory objectFactory;
 
   private ObjectWrapperFactory objectWrapperFactory;
@@ -232,6 +261,57 @@ public class SqlSessionFactoryBean
     this.cache = cache;
   }
 
+  /**
+   * Gets the Spring CacheManager.
+   *
+   * @return a specified CacheManager
+   *
+   * @since 4.1.1
+   */
+  public CacheManager getCacheManager() {
+    return this.cacheManager;
+  }
+
+  /**
+   * Sets the Spring CacheManager that provides the storage of the {@link SpringCache}s of the configuration. Every
+   * namespace cache of type {@code SpringCache} is bound to the Spring cache of the same name (or of its
+   * {@code cacheName} property) when the factory is built, and again once the application context is refreshed to
+   * cover caches of mappers added by {@code MapperFactoryBean}s.
+   *
+   * @param cacheManager
+   *          a CacheManager
+   *
+   * @since 4.1.1
+   */
+  public void setCacheManager(CacheManager cacheManager) {
+    this.cacheManager = cacheManager;
+  }
+
+  /**
+   * Gets the transport used to invalidate the caches of the other nodes of a cluster.
+   *
+   * @return a specified CacheInvalidationTransport
+   *
+   * @since 4.1.1
+   */
+  public CacheInvalidationTransport getCacheInvalidationTransport() {
+    return this.cacheInvalidationTransport;
+  }
+
+  /**
+   * Sets the transport used to invalidate the caches of the other nodes of a cluster. When set, a
+   * {@link CacheInvalidationBus} is registered as a plugin: the namespaces flushed by a committed transaction are
+   * published through the transport and the caches of those namespaces are cleared when other nodes publish them.
+   *
+   * @param cacheInvalidationTransport
+   *          a CacheInvalidationTransport shared by all nodes
+   *
+   * @since 4.1.1
+   */
+  public void setCacheInvalidationTransport(CacheInvalidationTransport cacheInvalidationTransport) {
+    this.cacheInvalidationTransport = cacheInvalidationTransport;
+  }
+
   /**
    * Mybatis plugin list.
    *
@@ -335,6 +415,95 @@ public class SqlSessionFactoryBean
     this.failFast = failFast;
   }
 
+  /**
+   * Sets the executor that validates the configuration when {@code failFast} is enabled. By default, the validation
+   * runs synchronously when the context is refreshed and fails the startup on the first problem, which delays the
+   * readiness of applications with thousands of statements.
+   * <p>
+   * With an executor, the validation runs on it after the refresh: all incomplete statements, result maps, cache
+   * references and mapper methods are resolved, and caches bound to Spring caches are checked. Every problem found is
+   * logged and reported by a {@link MappedStatementValidationEvent}, published to the application context and
+   * available from {@link #getValidationResult()}. When {@code lazyMapperLocations} is enabled, the validation parses
+   * the remaining mapper files, on the executor if one is set.
+   *
+   * @param validationExecutor
+   *          the executor running the validation, {@code null} to validate synchronously
+   *
+   * @since 4.1.1
+   */
+  public void setValidationExecutor(Executor validationExecutor) {
+    this.validationExecutor = validationExecutor;
+  }
+
+  /**
+   * Gets the result of the last background validation.
+   *
+   * @return the validation result, or {@code null} if no background validation completed yet
+   *
+   * @since 4.1.1
+   */
+  public MappedStatementValidationEvent getValidationResult() {
+    return this.validationResult;
+  }
+
+  /**
+   * Sets the {@code ApplicationStartup} that records the phases of {@link #buildSqlSessionFactory()}: configuration
+   * file, type alias and type handler scans, databaseId lookup, each mapper file and the final build. Set by Spring
+   * from the application context. Whatever the startup, the slowest phases are logged at debug level once the build is
+   * done.
+   *
+   * @param applicationStartup
+   *          the application startup
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    notNull(applicationStartup, "Property 'applicationStartup' must not be null");
+    this.applicationStartup = applicationStartup;
+  }
+
+  /**
+   * If true, the files of {@code mapperLocations} are only indexed at startup and each one is parsed the first time one
+   * of its statements, result maps or caches is used. This speeds up the startup of applications with many mapper
+   * files, some of them rarely used, at the cost of a slower first call per namespace. Combined with
+   * {@code failFast}, the remaining files are parsed and checked once the context is refreshed, on the
+   * {@link #setValidationExecutor(Executor) validation executor} if one is set. Defaults to false.
+   * <p>
+   * Requires the MyBatis {@code Configuration} to be a {@link LazyMapperConfiguration}, which is the case when it is
+   * created by this factory bean, from {@code configLocation} or not.
+   *
+   * @param lazyMapperLocations
+   *          enable the parsing of mapper files on first use
+   *
+   * @since 4.1.1
+   */
+  public void setLazyMapperLocations(boolean lazyMapperLocations) {
+    this.lazyMapperLocations = lazyMapperLocations;
+  }
+
+  /**
+   * If true, the files of {@code mapperLocations} found on the file system are watched and a file is parsed again as
+   * soon as it changes, without restarting the application. Its statements, result maps, parameter maps, cache and sql
+   * fragments are swapped atomically in the running configuration: lookups wait for the swap, statements being
+   * executed are not affected, and a file that cannot be parsed keeps its previous version. Meant for development and
+   * staging environments. Defaults to false.
+   * <p>
+   * Requires the MyBatis {@code Configuration} to be a {@link LazyMapperConfiguration}, which is the case when it is
+   * created by this factory bean, from {@code configLocation} or not. The watcher is closed when the context is
+   * stopped.
+   *
+   * @param watchMapperLocations
+   *          enable the reload of changed mapper files
+   *
+   * @see LazyMapperConfiguration#reloadMapperLocation(Resource)
+   *
+   * @since 4.1.1
+   */
+  public void setWatchMapperLocations(boolean watchMapperLocations) {
+    this.watchMapperLocations = watchMapperLocations;
+  }
+
   /**
    * Set the location of the MyBatis {@code SqlSessionFactory} config file. A typical value is
    * "WEB-INF/mybatis-configuration.xml".
@@ -567,8 +736,30 @@ public class SqlSessionFactoryBean
     notNull(sqlSessionFactoryBuilder, "Property 'sqlSessionFactoryBuilder' is required");
     state(configuration == null || configLocation == null,
         "Only one of 'configuration' or 'configLocation' may be specified");
+    state(!lazyMapperLocations || configuration == null || configuration instanceof LazyMapperConfiguration,
+        "Property 'configuration' must be a LazyMapperConfiguration when 'lazyMapperLocations' is enabled");
+    state(!watchMapperLocations || configuration == null || configuration instanceof LazyMapperConfiguration,
+        "Property 'configuration' must be a LazyMapperConfiguration when 'watchMapperLocations' is enabled");
 
     this.sqlSessionFactory = buildSqlSessionFactory();
+    if (this.watchMapperLocations) {
+      startMapperLocationWatcher();
+    }
+  }
+
+  private void startMapperLocationWatcher() throws IOException {
+    if (this.mapperLocationWatcher != null || this.mapperLocations == null) {
+      return;
+    }
+    var watcher = new MapperLocationWatcher((LazyMapperConfiguration) this.sqlSessionFactory.getConfiguration(),
+        this.mapperLocations);
+    if (watcher.getWatchedFileCount() == 0) {
+      watcher.close();
+      LOGGER.warn(() -> "Property 'watchMapperLocations' is enabled but no mapper file is on the file system.");
+      return;
+    }
+    watcher.start();
+    this.mapperLocationWatcher = watcher;
   }
 
   /**
@@ -586,6 +777,7 @@ public class SqlSessionFactoryBean
   protected SqlSessionFactory buildSqlSessionFactory() throws Exception {
 
     final Configuration targetConfiguration;
+    var timings = new BuildTimings(this.applicationStartup);
 
     XMLConfigBuilder xmlConfigBuilder = null;
     if (this.configuration != null) {
@@ -596,12 +788,20 @@ public class SqlSessionFactoryBean
         targetConfiguration.getVariables().putAll(this.configurationProperties);
       }
     } else if (this.configLocation != null) {
-      xmlConfigBuilder = new XMLConfigBuilder(this.configLocation.getInputStream(), null, this.configurationProperties);
+      var phase = timings.start("config.read", "resource", this.configLocation.toString());
+      try {
+        xmlConfigBuilder = usesLazyMapperConfiguration()
+            ? new XMLConfigBuilder(LazyMapperConfiguration.class, this.configLocation.getInputStream(), null,
+                this.configurationProperties)
+            : new XMLConfigBuilder(this.configLocation.getInputStream(), null, this.configurationProperties);
+      } finally {
+        phase.end();
+      }
       targetConfiguration = xmlConfigBuilder.getConfiguration();
     } else {
       LOGGER.debug(
           () -> "Property 'configuration' or 'configLocation' not specified, using default MyBatis Configuration");
-      targetConfiguration = new Configuration();
+      targetConfiguration = usesLazyMapperConfiguration() ? new LazyMapperConfiguration() : new Configuration();
       Optional.ofNullable(this.configurationProperties).ifPresent(targetConfiguration::setVariables);
     }
 
@@ -610,9 +810,14 @@ public class SqlSessionFactoryBean
     Optional.ofNullable(this.vfs).ifPresent(targetConfiguration::setVfsImpl);
 
     if (hasLength(this.typeAliasesPackage)) {
-      scanClasses(this.typeAliasesPackage, this.typeAliasesSuperType).stream()
-          .filter(clazz -> !clazz.isAnonymousClass()).filter(clazz -> !clazz.isInterface())
-          .filter(clazz -> !clazz.isMemberClass()).forEach(targetConfiguration.getTypeAliasRegistry()::registerAlias);
+      var phase = timings.start("type-aliases.scan", "packages", this.typeAliasesPackage);
+      try {
+        scanClasses(this.typeAliasesPackage, this.typeAliasesSuperType).stream()
+            .filter(clazz -> !clazz.isAnonymousClass()).filter(clazz -> !clazz.isInterface())
+            .filter(clazz -> !clazz.isMemberClass()).forEach(targetConfiguration.getTypeAliasRegistry()::registerAlias);
+      } finally {
+        phase.end();
+      }
     }
 
     if (!isEmpty(this.typeAliases)) {
@@ -629,10 +834,21 @@ public class SqlSessionFactoryBean
       });
     }
 
+    if (this.cacheInvalidationTransport != null) {
+      targetConfiguration
+          .addInterceptor(new CacheInvalidationBus(targetConfiguration, this.cacheInvalidationTransport));
+      LOGGER.debug(() -> "Registered cache invalidation bus over: '" + this.cacheInvalidationTransport + "'");
+    }
+
     if (hasLength(this.typeHandlersPackage)) {
-      scanClasses(this.typeHandlersPackage, TypeHandler.class).stream().filter(clazz -> !clazz.isAnonymousClass())
-          .filter(clazz -> !clazz.isInterface()).filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
-          .forEach(targetConfiguration.getTypeHandlerRegistry()::register);
+      var phase = timings.start("type-handlers.scan", "packages", this.typeHandlersPackage);
+      try {
+        scanClasses(this.typeHandlersPackage, TypeHandler.class).stream().filter(clazz -> !clazz.isAnonymousClass())
+            .filter(clazz -> !clazz.isInterface()).filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
+            .forEach(targetConfiguration.getTypeHandlerRegistry()::register);
+      } finally {
+        phase.end();
+      }
     }
 
     if (!isEmpty(this.typeHandlers)) {
@@ -654,16 +870,20 @@ public class SqlSessionFactoryBean
         .ifPresent(targetConfiguration::setDefaultScriptingLanguage);
 
     if (this.databaseIdProvider != null) {// fix #64 set databaseId before parse mapper xmls
+      var phase = timings.start("database-id.lookup", null, null);
       try {
         targetConfiguration.setDatabaseId(this.databaseIdProvider.getDatabaseId(this.dataSource));
       } catch (SQLException e) {
         throw new IOException("Failed getting a databaseId", e);
+      } finally {
+        phase.end();
       }
     }
 
     Optional.ofNullable(this.cache).ifPresent(targetConfiguration::addCache);
 
     if (xmlConfigBuilder != null) {
+      var phase = timings.start("config.parse", "resource", this.configLocation.toString());
       try {
         xmlConfigBuilder.parse();
         LOGGER.debug(() -> "Parsed configuration file: '" + this.configLocation + "'");
@@ -671,6 +891,7 @@ public class SqlSessionFactoryBean
         throw new IOException("Failed to parse config resource: " + this.configLocation, ex);
       } finally {
         ErrorContext.instance().reset();
+        phase.end();
       }
     }
 
@@ -678,6 +899,11 @@ public class SqlSessionFactoryBean
         this.transactionFactory == null ? new SpringManagedTransactionFactory() : this.transactionFactory,
         this.dataSource));
 
+    if (this.watchMapperLocations) {
+      // the elements of each file are recorded from now on
+      ((LazyMapperConfiguration) targetConfiguration).setReloadable(true);
+    }
+
     if (this.mapperLocations != null) {
       if (this.mapperLocations.length == 0) {
         LOGGER.warn(() -> "Property 'mapperLocations' was specified but matching resources are not found.");
@@ -686,6 +912,17 @@ public class SqlSessionFactoryBean
           if (mapperLocation == null) {
             continue;
           }
+          if (usesLazyMapperConfiguration()) {
+            var phase = timings.start("mapper.index", "resource", mapperLocation.toString());
+            try {
+              ((LazyMapperConfiguration) targetConfiguration).addLazyMapperLocation(mapperLocation);
+            } finally {
+              phase.end();
+            }
+            LOGGER.debug(() -> "Indexed mapper file: '" + mapperLocation + "'");
+            continue;
+          }
+          var phase = timings.start("mapper.parse", "resource", mapperLocation.toString());
           try {
             var xmlMapperBuilder = new XMLMapperBuilder(mapperLocation.getInputStream(), targetConfiguration,
                 mapperLocation.toString(), targetConfiguration.getSqlFragments());
@@ -694,15 +931,57 @@ public class SqlSessionFactoryBean
             throw new IOException("Failed to parse mapping resource: '" + mapperLocation + "'", e);
           } finally {
             ErrorContext.instance().reset();
+            phase.end();
           }
           LOGGER.debug(() -> "Parsed mapper file: '" + mapperLocation + "'");
         }
+        if (this.watchMapperLocations && !this.lazyMapperLocations) {
+          var phase = timings.start("mapper.parse", null, null);
+          try {
+            ((LazyMapperConfiguration) targetConfiguration).loadAllMappers();
+          } finally {
+            phase.end();
+          }
+        }
       }
     } else {
       LOGGER.debug(() -> "Property 'mapperLocations' was not specified.");
     }
 
-    return this.sqlSessionFactoryBuilder.build(targetConfiguration);
+    var phase = timings.start("build", null, null);
+    try {
+      bindSpringCaches(targetConfiguration);
+      if (usesLazyMapperConfiguration()) {
+        // lazily parsed and reloaded mapper files may declare caches
+        ((LazyMapperConfiguration) targetConfiguration)
+            .addLoadListener(namespace -> bindSpringCaches(targetConfiguration));
+      }
+
+      return this.sqlSessionFactoryBuilder.build(targetConfiguration);
+    } finally {
+      phase.end();
+      LOGGER.debug(timings::summary);
+    }
+  }
+
+  private boolean usesLazyMapperConfiguration() {
+    return this.lazyMapperLocations || this.watchMapperLocations;
+  }
+
+  private void bindSpringCaches(Configuration configuration) {
+    if (this.cacheManager == null) {
+      return;
+    }
+    // iterated as Object because the cache map also holds ambiguity markers for short names
+    Collection<?> caches = configuration.getCaches();
+    for (Object cache : caches) {
+      if (cache instanceof SpringCache && !((SpringCache) cache).isBound()) {
+        var springCache = (SpringCache) cache;
+        springCache.bind(this.cacheManager);
+        LOGGER.debug(() -> "Bound cache '" + springCache.getId() + "' to Spring cache '" + springCache.getCacheName()
+            + "'");
+      }
+    }
   }
 
   @Override
@@ -724,34 +1003,223 @@ public class SqlSessionFactoryBean
     return true;
   }
 
+  /**
+   * Releases the results of the {@code typeAliasesPackage} and {@code typeHandlersPackage} scans. They are shared by
+   * the factory beans of the same class loader, so that the class files of a package are read only once while the
+   * context starts, and are not needed once it is closed.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void destroy() {
+    ScannedClassCache.clear(ClassUtils.getDefaultClassLoader());
+  }
+
   @Override
   public void onApplicationEvent(ContextRefreshedEvent event) {
+    if (this.cacheManager != null) {
+      // mappers added by MapperFactoryBeans may have brought new caches
+      bindSpringCaches(this.sqlSessionFactory.getConfiguration());
+    }
     if (failFast) {
-      // fail-fast -> check all statements are completed
-      this.sqlSessionFactory.getConfiguration().getMappedStatementNames();
+      var configuration = this.sqlSessionFactory.getConfiguration();
+      var executor = this.validationExecutor;
+      if (executor != null) {
+        var context = event.getApplicationContext();
+        executor.execute(() -> {
+          this.validationLock.lock();
+          try {
+            var result = validateConfiguration(configuration);
+            this.validationResult = result;
+            context.publishEvent(result);
+          } finally {
+            this.validationLock.unlock();
+          }
+        });
+      } else {
+        // fail-fast -> check all statements are completed, parsing the remaining lazy mapper files first
+        configuration.getMappedStatementNames();
+      }
+    }
+  }
+
+  /**
+   * Marks the factory as running again, for instance after a CRaC restore. The {@code SqlSessionFactory} and its
+   * parsed configuration are kept while stopped, so nothing has to be built again.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void start() {
+    this.running = true;
+    if (this.watchMapperLocations && this.sqlSessionFactory != null) {
+      try {
+        startMapperLocationWatcher();
+      } catch (IOException e) {
+        LOGGER.warn(() -> "Failed to watch mapper files: " + e.getMessage());
+      }
     }
   }
 
-  private Set<Class<?>> scanClasses(String packagePatterns, Class<?> assignableType) throws IOException {
+  /**
+   * Waits for a background validation in progress, which reads mapper files, and closes the mapper file watcher, so
+   * that no file is left open when the application is checkpointed. The {@code SqlSessionFactory} holds no connection:
+   * the ones opened by sessions are released when the sessions, streams and transactions that own them are closed.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void stop() {
+    this.validationLock.lock();
+    try {
+      this.running = false;
+    } finally {
+      this.validationLock.unlock();
+    }
+    var watcher = this.mapperLocationWatcher;
+    if (watcher != null) {
+      this.mapperLocationWatcher = null;
+      try {
+        watcher.close();
+      } catch (IOException e) {
+        LOGGER.warn(() -> "Failed to close the mapper file watcher: " + e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  private MappedStatementValidationEvent validateConfiguration(Configuration configuration) {
+    var start = System.nanoTime();
+    List<String> problems = new ArrayList<>();
+    try {
+      if (configuration instanceof LazyMapperConfiguration) {
+        ((LazyMapperConfiguration) configuration).loadAllMappers();
+      }
+      // resolves every pending element and fails on the first one that cannot be resolved
+      configuration.getMappedStatementNames();
+    } catch (RuntimeException e) {
+      problems.add(e.getMessage());
+    }
+    addIncompleteProblem(problems, configuration.getIncompleteStatements(), "statements");
+    addIncompleteProblem(problems, configuration.getIncompleteResultMaps(), "result maps");
+    addIncompleteProblem(problems, configuration.getIncompleteCacheRefs(), "cache references");
+    addIncompleteProblem(problems, configuration.getIncompleteMethods(), "mapper methods");
+
+    // iterated as Object because the maps also hold ambiguity markers for short names
+    Collection<?> caches = configuration.getCaches();
+    for (Object cache : caches) {
+      if (cache instanceof SpringCache && this.cacheManager != null && !((SpringCache) cache).isBound()) {
+        problems.add("Cache '" + ((SpringCache) cache).getId() + "' could not be bound to a Spring cache");
+      }
+    }
+    Set<MappedStatement> statements = new HashSet<>();
+    Collection<?> mappedStatements = configuration.getMappedStatements();
+    for (Object mappedStatement : mappedStatements) {
+      if (mappedStatement instanceof MappedStatement) {
+        statements.add((MappedStatement) mappedStatement);
+      }
+    }
+
+    var result = new MappedStatementValidationEvent(this.sqlSessionFactory, statements.size(), problems,
+        Duration.ofNanos(System.nanoTime() - start));
+    if (result.isValid()) {
+      LOGGER.debug(() -> "Validated " + result.getStatementCount() + " mapped statements in " + result.getDuration());
+    } else {
+      LOGGER.error(() -> "Validation of mapped statements found " + problems.size() + " problem(s): " + problems);
+    }
+    return result;
+  }
+
+  private static void addIncompleteProblem(List<String> problems, Collection<?> incompleteElements, String kind) {
+    if (!incompleteElements.isEmpty()) {
+      problems.add(incompleteElements.size() + " " + kind + " could not be resolved");
+    }
+  }
+
+  Set<Class<?>> scanClasses(String packagePatterns, Class<?> assignableType) throws IOException {
     Set<Class<?>> classes = new HashSet<>();
     var packagePatternArray = tokenizeToStringArray(packagePatterns,
         ConfigurableApplicationContext.CONFIG_LOCATION_DELIMITERS);
+    var scannedClassCache = ScannedClassCache.forClassLoader(ClassUtils.getDefaultClassLoader());
     for (String packagePattern : packagePatternArray) {
-      var resources = RESOURCE_PATTERN_RESOLVER.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
-          + ClassUtils.convertClassNameToResourcePath(packagePattern) + "/**/*.class");
-      for (Resource resource : resources) {
+      for (String className : scannedClassCache.findClassNames(packagePattern, assignableType)) {
         try {
-          var classMetadata = METADATA_READER_FACTORY.getMetadataReader(resource).getClassMetadata();
-          Class<?> clazz = Resources.classForName(classMetadata.getClassName());
-          if (assignableType == null || assignableType.isAssignableFrom(clazz)) {
-            classes.add(clazz);
-          }
+          classes.add(Resources.classForName(className));
         } catch (Throwable e) {
-          LOGGER.warn(() -> "Cannot load the '" + resource + "'. Cause by " + e.toString());
+          LOGGER.warn(() -> "Cannot load the '" + className + "'. Cause by " + e.toString());
         }
       }
     }
     return classes;
   }
 
+  /**
+   * Times the phases of a build: each one is a {@code mybatis.factory.*} {@link StartupStep} and is kept for the
+   * summary listing the slowest ones.
+   */
+  private static final class BuildTimings {
+
+    private static final int SUMMARY_SIZE = 5;
+
+    private final ApplicationStartup applicationStartup;
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<BuildPhase> phases = new ArrayList<>();
+
+    private BuildTimings(ApplicationStartup applicationStartup) {
+      this.applicationStartup = applicationStartup;
+    }
+
+    BuildPhase start(String name, String tagKey, String tagValue) {
+      var step = this.applicationStartup.start("mybatis.factory." + name);
+      if (tagKey != null) {
+        step.tag(tagKey, tagValue);
+      }
+      var phase = new BuildPhase(step, tagValue == null ? name : name + " " + tagValue);
+      this.phases.add(phase);
+      return phase;
+    }
+
+    String summary() {
+      var totalMillis = Duration.ofNanos(System.nanoTime() - this.startNanos).toMillis();
+      return this.phases.stream().sorted(Comparator.comparingLong(BuildPhase::getDurationNanos).reversed())
+          .limit(SUMMARY_SIZE).map(phase -> phase.description + " (" + phase.getDuration().toMillis() + " ms)")
+          .collect(Collectors.joining(", ", "Built SqlSessionFactory in " + totalMillis + " ms, slowest phases: ", ""));
+    }
+  }
+
+  private static final class BuildPhase {
+
+    private final StartupStep step;
+
+    private final String description;
+
+    private final long startNanos = System.nanoTime();
+
+    private long durationNanos;
+
+    private BuildPhase(StartupStep step, String description) {
+      this.step = step;
+      this.description = description;
+    }
+
+    void end() {
+      this.durationNanos = System.nanoTime() - this.startNanos;
+      this.step.end();
+    }
+
+    long getDurationNanos() {
+      return this.durationNanos;
+    }
+
+    Duration getDuration() {
+      return Duration.ofNanos(this.durationNanos);
+    }
+  }
+
 }
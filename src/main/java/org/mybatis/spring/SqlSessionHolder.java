@@ -15,8 +15,18 @@
  */
 package org.mybatis.spring;
 
+import static org.springframework.util.Assert.isTrue;
 import static org.springframework.util.Assert.notNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
@@ -26,6 +36,9 @@ import org.springframework.transaction.support.ResourceHolderSupport;
  * Used to keep current {@code SqlSession} in {@code TransactionSynchronizationManager}. The {@code SqlSessionFactory}
  * that created that {@code SqlSession} is used as a key. {@code ExecutorType} is also kept to be able to check if the
  * user is trying to change it during a TX (that is not allowed) and throw a Exception in that case.
+ * <p>
+ * When changing the {@code ExecutorType} is explicitly allowed, the holder also keeps one additional
+ * {@code SqlSession} per other {@code ExecutorType}. All of them share the connection bound to the transaction.
  *
  * @author Hunter Presnall
  * @author Eduardo Macarron
@@ -38,6 +51,16 @@ public final class SqlSessionHolder extends ResourceHolderSupport {
 
   private final PersistenceExceptionTranslator exceptionTranslator;
 
+  private final Set<String> flushedNamespaces = ConcurrentHashMap.newKeySet();
+
+  private final Map<ExecutorType, SqlSession> additionalSqlSessions = new EnumMap<>(ExecutorType.class);
+
+  private int pendingBatchStatements;
+
+  private long batchStatementCount;
+
+  private long batchUpdateCount;
+
   /**
    * Creates a new holder instance.
    *
@@ -68,6 +91,69 @@ public final class SqlSessionHolder extends ResourceHolderSupport {
     return sqlSession;
   }
 
+  /**
+   * Gets the session of the given executor type.
+   *
+   * @param executorType
+   *          the executor type
+   *
+   * @return the main session if it uses that executor type, else the additional session of that type or {@code null}
+   *
+   * @since 4.1.1
+   */
+  public SqlSession getSqlSession(ExecutorType executorType) {
+    if (this.executorType == executorType) {
+      return this.sqlSession;
+    }
+    return this.additionalSqlSessions.get(executorType);
+  }
+
+  /**
+   * Adds a session using another executor type than the main session.
+   *
+   * @param executorType
+   *          the executor type of the session
+   * @param sqlSession
+   *          the session, sharing the connection of the main session
+   *
+   * @since 4.1.1
+   */
+  public void addSqlSession(ExecutorType executorType, SqlSession sqlSession) {
+    notNull(sqlSession, "SqlSession must not be null");
+    notNull(executorType, "ExecutorType must not be null");
+    isTrue(this.executorType != executorType && !this.additionalSqlSessions.containsKey(executorType),
+        "A SqlSession is already held for ExecutorType " + executorType);
+    this.additionalSqlSessions.put(executorType, sqlSession);
+  }
+
+  /**
+   * Gets all the held sessions, the main session first.
+   *
+   * @return the held sessions
+   *
+   * @since 4.1.1
+   */
+  public List<SqlSession> getSqlSessions() {
+    List<SqlSession> sqlSessions = new ArrayList<>(1 + this.additionalSqlSessions.size());
+    sqlSessions.add(this.sqlSession);
+    sqlSessions.addAll(this.additionalSqlSessions.values());
+    return sqlSessions;
+  }
+
+  /**
+   * Checks whether the given session is held by this holder.
+   *
+   * @param sqlSession
+   *          the session to check
+   *
+   * @return {@code true} if it is the main or an additional session
+   *
+   * @since 4.1.1
+   */
+  public boolean holds(SqlSession sqlSession) {
+    return this.sqlSession == sqlSession || this.additionalSqlSessions.containsValue(sqlSession);
+  }
+
   /**
    * Gets the executor type.
    *
@@ -86,4 +172,86 @@ public final class SqlSessionHolder extends ResourceHolderSupport {
     return exceptionTranslator;
   }
 
+  /**
+   * Records that the cache of a namespace was flushed by this transaction.
+   *
+   * @param namespace
+   *          the id of the flushed cache
+   *
+   * @since 4.1.1
+   */
+  public void addFlushedNamespace(String namespace) {
+    this.flushedNamespaces.add(namespace);
+  }
+
+  /**
+   * Gets the namespaces whose cache was flushed by this transaction.
+   *
+   * @return the ids of the flushed caches
+   *
+   * @since 4.1.1
+   */
+  public Set<String> getFlushedNamespaces() {
+    return Collections.unmodifiableSet(this.flushedNamespaces);
+  }
+
+  /**
+   * Records a statement added to the batch of the {@code BATCH} session.
+   *
+   * @return the number of statements added since the last flush
+   */
+  int addBatchStatement() {
+    return ++this.pendingBatchStatements;
+  }
+
+  /**
+   * Records the results of a flush of the {@code BATCH} session.
+   *
+   * @param batchResults
+   *          the results returned by {@code SqlSession.flushStatements()}
+   */
+  void addBatchResults(List<BatchResult> batchResults) {
+    this.pendingBatchStatements = 0;
+    for (BatchResult batchResult : batchResults) {
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        this.batchStatementCount++;
+        if (updateCount > 0) {
+          this.batchUpdateCount += updateCount;
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of batched statements flushed so far by this transaction.
+   *
+   * @return the number of executed batched statements
+   *
+   * @since 4.1.1
+   */
+  public long getBatchStatementCount() {
+    return this.batchStatementCount;
+  }
+
+  /**
+   * Gets the number of rows reported as updated by the batched statements flushed so far by this transaction. Drivers
+   * that do not report the count of a statement ({@code Statement.SUCCESS_NO_INFO}) do not add to it.
+   *
+   * @return the number of updated rows
+   *
+   * @since 4.1.1
+   */
+  public long getBatchUpdateCount() {
+    return this.batchUpdateCount;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    this.flushedNamespaces.clear();
+    this.pendingBatchStatements = 0;
+    this.batchStatementCount = 0;
+    this.batchUpdateCount = 0;
+  }
+
 }
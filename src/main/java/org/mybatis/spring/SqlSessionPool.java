@@ -0,0 +1,139 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.mybatis.spring.transaction.SpringManagedTransaction;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+
+/**
+ * Pool of {@code SqlSession}s reused by {@link SqlSessionTemplate} for the calls made outside of Spring transaction
+ * synchronization. A pooled session keeps its {@code Executor}, already wrapped by the plugins, and its
+ * {@code SpringManagedTransaction}; only the connection is released between two uses.
+ */
+final class SqlSessionPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SqlSessionPool.class);
+
+  private final SqlSessionFactory sqlSessionFactory;
+
+  private final ExecutorType executorType;
+
+  private final BlockingQueue<PooledSqlSession> idleSessions;
+
+  SqlSessionPool(SqlSessionFactory sqlSessionFactory, ExecutorType executorType, int maxIdle) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.executorType = executorType;
+    this.idleSessions = new ArrayBlockingQueue<>(maxIdle);
+  }
+
+  static boolean isSupported(SqlSessionFactory sqlSessionFactory) {
+    var environment = sqlSessionFactory.getConfiguration().getEnvironment();
+    return environment != null && environment.getTransactionFactory() instanceof SpringManagedTransactionFactory;
+  }
+
+  /**
+   * Cursors need their session after the call returns and connections are only valid while the session is in use.
+   */
+  static boolean supports(Method method) {
+    return !"selectCursor".equals(method.getName()) && !"getConnection".equals(method.getName());
+  }
+
+  PooledSqlSession borrow() {
+    var pooledSession = this.idleSessions.poll();
+    return pooledSession == null ? open() : pooledSession;
+  }
+
+  /**
+   * Releases the connection of a session that was committed and makes the session available again. The work of the
+   * session is already committed, so a failure to release the connection is only logged, like
+   * {@code DataSourceUtils#releaseConnection} does, and the session is closed instead of being reused.
+   */
+  void release(PooledSqlSession pooledSession) {
+    try {
+      pooledSession.transaction.close();
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.debug(() -> "Could not release the connection of a pooled SqlSession: " + e);
+      discard(pooledSession);
+      return;
+    }
+    if (!this.idleSessions.offer(pooledSession)) {
+      pooledSession.sqlSession.close();
+    }
+  }
+
+  /**
+   * Closes a session that failed, rolling back its work.
+   */
+  void discard(PooledSqlSession pooledSession) {
+    pooledSession.sqlSession.close();
+  }
+
+  void clear() {
+    PooledSqlSession pooledSession;
+    while ((pooledSession = this.idleSessions.poll()) != null) {
+      pooledSession.sqlSession.close();
+    }
+  }
+
+  int getIdleCount() {
+    return this.idleSessions.size();
+  }
+
+  private PooledSqlSession open() {
+    var configuration = this.sqlSessionFactory.getConfiguration();
+    var environment = configuration.getEnvironment();
+    var transaction = (SpringManagedTransaction) environment.getTransactionFactory()
+        .newTransaction(environment.getDataSource(), null, false);
+    try {
+      var executor = configuration.newExecutor(transaction, this.executorType);
+      return new PooledSqlSession(new DefaultSqlSession(configuration, executor, false), transaction);
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  static final class PooledSqlSession {
+
+    private final SqlSession sqlSession;
+
+    private final SpringManagedTransaction transaction;
+
+    private PooledSqlSession(SqlSession sqlSession, SpringManagedTransaction transaction) {
+      this.sqlSession = sqlSession;
+      this.transaction = transaction;
+    }
+
+    SqlSession getSqlSession() {
+      return this.sqlSession;
+    }
+  }
+
+}
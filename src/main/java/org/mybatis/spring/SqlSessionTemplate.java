@@ -21,17 +21,31 @@ import static org.apache.ibatis.reflection.ExceptionUtil.unwrapThrowable;
 import static org.mybatis.spring.SqlSessionUtils.closeSqlSession;
 import static org.mybatis.spring.SqlSessionUtils.getSqlSession;
 import static org.mybatis.spring.SqlSessionUtils.isSqlSessionTransactional;
+import static org.springframework.util.Assert.isTrue;
 import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.ResultHandler;
@@ -39,7 +53,9 @@ import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.Lifecycle;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Thread safe, Spring managed, {@code SqlSession} that works with Spring transaction management to ensure that the
@@ -72,7 +88,7 @@ import org.springframework.dao.support.PersistenceExceptionTranslator;
  * @see SqlSessionFactory
  * @see MyBatisExceptionTranslator
  */
-public class SqlSessionTemplate implements SqlSession, DisposableBean {
+public class SqlSessionTemplate implements SqlSession, DisposableBean, Lifecycle {
 
   private final SqlSessionFactory sqlSessionFactory;
 
@@ -82,6 +98,22 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
 
   private final PersistenceExceptionTranslator exceptionTranslator;
 
+  private SqlSessionThrottle throttle;
+
+  private Set<String> coalescedStatements = Set.of();
+
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  private volatile SqlSessionPool sessionPool;
+
+  private boolean skipReadOnlyCommit;
+
+  private boolean executorTypeChangeAllowed;
+
+  private int batchFlushThreshold;
+
+  private volatile boolean running = true;
+
   /**
    * Constructs a Spring managed SqlSession with the {@code SqlSessionFactory} provided as an argument.
    *
@@ -159,6 +191,213 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
     return this.exceptionTranslator;
   }
 
+  /**
+   * Sets the throttle that limits how many non-transactional calls run at the same time. Calls made inside a Spring
+   * transaction already hold a connection and are never throttled.
+   * <p>
+   * Useful when many (virtual) threads share this template: size the throttle to the connection pool so that surplus
+   * callers wait in the throttle queue, where the wait time is measured, instead of inside the pool.
+   *
+   * @param throttle
+   *          the throttle to use, {@code null} to disable throttling (the default)
+   *
+   * @since 4.1.1
+   */
+  public void setThrottle(SqlSessionThrottle throttle) {
+    this.throttle = throttle;
+  }
+
+  /**
+   * Gets the throttle.
+   *
+   * @return the throttle, or {@code null} if throttling is disabled
+   *
+   * @since 4.1.1
+   */
+  public SqlSessionThrottle getThrottle() {
+    return this.throttle;
+  }
+
+  /**
+   * Sets the ids of the statements whose identical concurrent calls are coalesced. When several threads call
+   * {@code selectOne} or {@code selectList} at the same time with one of these statements and an equal parameter, only
+   * the first call hits the database and the others wait for it and get the same result (or exception). This shields
+   * the database from bursts of identical queries, for instance on a hot configuration row.
+   * <p>
+   * Only calls made outside of Spring transaction synchronization are coalesced, so transactions always see their own
+   * data. Coalesced callers share the very same result objects, which must therefore be treated as read-only. The
+   * parameter must implement {@code equals} and {@code hashCode}.
+   *
+   * @param statementIds
+   *          fully qualified ids of the statements to coalesce, {@code null} or empty to disable coalescing (the
+   *          default)
+   *
+   * @since 4.1.1
+   */
+  public void setCoalescedStatements(Set<String> statementIds) {
+    this.coalescedStatements = statementIds == null ? Set.of() : Set.copyOf(statementIds);
+  }
+
+  /**
+   * Gets the ids of the statements whose identical concurrent calls are coalesced.
+   *
+   * @return the coalesced statement ids, never {@code null}
+   *
+   * @since 4.1.1
+   */
+  public Set<String> getCoalescedStatements() {
+    return this.coalescedStatements;
+  }
+
+  /**
+   * Gets the number of calls that were served by the execution of an identical concurrent call.
+   *
+   * @return the number of coalesced calls
+   *
+   * @since 4.1.1
+   */
+  public long getCoalescedCount() {
+    return this.singleFlight.getSharedCount();
+  }
+
+  /**
+   * Sets the maximum number of idle {@code SqlSession}s kept for reuse by non-transactional calls. Without a pool every
+   * call made outside of Spring transaction synchronization opens a new session, which creates a new
+   * {@code Executor}, wraps it with every plugin and allocates its local cache. With a pool, a session is committed and
+   * its connection released after each call, then handed to the next call as is.
+   * <p>
+   * Calls made while transaction synchronization is active, {@code selectCursor} and {@code getConnection} never use
+   * the pool. Requires the {@code SpringManagedTransactionFactory}.
+   *
+   * @param sessionPoolSize
+   *          the maximum number of idle sessions, {@code 0} to disable pooling (the default)
+   *
+   * @since 4.1.1
+   */
+  public void setSessionPoolSize(int sessionPoolSize) {
+    isTrue(sessionPoolSize >= 0, "Property 'sessionPoolSize' must not be negative");
+    var previous = this.sessionPool;
+    if (sessionPoolSize == 0) {
+      this.sessionPool = null;
+    } else {
+      state(SqlSessionPool.isSupported(this.sqlSessionFactory),
+          "SqlSessionFactory must be using a SpringManagedTransactionFactory in order to pool SqlSessions");
+      this.sessionPool = new SqlSessionPool(this.sqlSessionFactory, this.executorType, sessionPoolSize);
+    }
+    if (previous != null) {
+      previous.clear();
+    }
+  }
+
+  /**
+   * Gets the number of pooled sessions currently idle.
+   *
+   * @return the number of idle sessions, {@code 0} if pooling is disabled
+   *
+   * @since 4.1.1
+   */
+  public int getIdleSessionCount() {
+    var pool = this.sessionPool;
+    return pool == null ? 0 : pool.getIdleCount();
+  }
+
+  /**
+   * Sets whether the forced commit that ends every non-transactional call is skipped for read-only statements.
+   * <p>
+   * By default a call made outside of a Spring transaction ends with {@code SqlSession.commit(true)}, which issues a
+   * JDBC {@code commit()} even after a plain select because some databases require a commit or a rollback before a
+   * connection is closed. On connections with auto-commit disabled this costs one network round trip per query. When
+   * this property is set, calls to {@code SELECT} statements that are not {@code CALLABLE} end with
+   * {@code SqlSession.commit(false)} instead: the local and second level caches are handled as usual but no JDBC
+   * commit nor rollback is issued. Auto-commit connections never receive that commit anyway.
+   * <p>
+   * Only enable it for databases and connection pools that accept a connection being returned with an open read-only
+   * transaction (most pools roll it back or reset it on return).
+   *
+   * @param skipReadOnlyCommit
+   *          {@code true} to skip the JDBC commit after non-transactional selects, {@code false} by default
+   *
+   * @since 4.1.1
+   */
+  public void setSkipReadOnlyCommit(boolean skipReadOnlyCommit) {
+    this.skipReadOnlyCommit = skipReadOnlyCommit;
+  }
+
+  /**
+   * Returns whether the forced commit is skipped for non-transactional read-only statements.
+   *
+   * @return {@code true} if the commit is skipped
+   *
+   * @since 4.1.1
+   */
+  public boolean isSkipReadOnlyCommit() {
+    return this.skipReadOnlyCommit;
+  }
+
+  /**
+   * Sets whether this template may join a Spring transaction that already uses a {@code SqlSession} of another
+   * {@code ExecutorType}. By default doing so throws a {@code TransientDataAccessResourceException}. When allowed, the
+   * transaction keeps one session per executor type on its connection and the {@code BATCH} statements still pending
+   * are flushed before a session of another type is used, for instance to read with a {@code SIMPLE} template in the
+   * middle of a batch of writes.
+   * <p>
+   * Must be set on the templates that may join a transaction second.
+   *
+   * @param executorTypeChangeAllowed
+   *          {@code true} to allow several executor types in one transaction, {@code false} by default
+   *
+   * @see SqlSessionUtils#getSqlSession(SqlSessionFactory, ExecutorType, PersistenceExceptionTranslator, boolean)
+   *
+   * @since 4.1.1
+   */
+  public void setExecutorTypeChangeAllowed(boolean executorTypeChangeAllowed) {
+    this.executorTypeChangeAllowed = executorTypeChangeAllowed;
+  }
+
+  /**
+   * Returns whether this template may join a transaction that uses another executor type.
+   *
+   * @return {@code true} if several executor types are allowed in one transaction
+   *
+   * @since 4.1.1
+   */
+  public boolean isExecutorTypeChangeAllowed() {
+    return this.executorTypeChangeAllowed;
+  }
+
+  /**
+   * Sets the number of statements after which a {@code BATCH} template flushes the batch of the current Spring
+   * transaction. Without a threshold the statements of a transaction accumulate, with their parameters, until the
+   * transaction commits, so a large import keeps all of them in memory.
+   * <p>
+   * The flush is transparent: its results are added to the counts kept by the {@link SqlSessionHolder} of the
+   * transaction, which also records the statements flushed at commit and logs the totals. The batch may still be
+   * flushed earlier, for instance by MyBatis before a select.
+   *
+   * @param batchFlushThreshold
+   *          the number of inserts, updates and deletes per flush, {@code 0} to flush at commit only (the default)
+   *
+   * @see SqlSessionHolder#getBatchStatementCount()
+   * @see SqlSessionHolder#getBatchUpdateCount()
+   *
+   * @since 4.1.1
+   */
+  public void setBatchFlushThreshold(int batchFlushThreshold) {
+    isTrue(batchFlushThreshold >= 0, "Property 'batchFlushThreshold' must not be negative");
+    this.batchFlushThreshold = batchFlushThreshold;
+  }
+
+  /**
+   * Gets the number of statements after which the batch of the current transaction is flushed.
+   *
+   * @return the threshold, {@code 0} if the batch is flushed at commit only
+   *
+   * @since 4.1.1
+   */
+  public int getBatchFlushThreshold() {
+    return this.batchFlushThreshold;
+  }
+
   @Override
   public <T> T selectOne(String statement) {
     return this.sqlSessionProxy.selectOne(statement);
@@ -199,6 +438,125 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
     return this.sqlSessionProxy.selectCursor(statement, parameter, rowBounds);
   }
 
+  /**
+   * Retrieves the rows of a query as a lazily populated {@code Stream} backed by a {@code Cursor}.
+   *
+   * @param <T>
+   *          the returned stream element type
+   * @param statement
+   *          the statement
+   *
+   * @return a stream of mapped objects that must be closed
+   *
+   * @see #selectStream(String, Object, RowBounds)
+   *
+   * @since 4.1.1
+   */
+  public <T> Stream<T> selectStream(String statement) {
+    return selectStream(statement, null);
+  }
+
+  /**
+   * Retrieves the rows of a query as a lazily populated {@code Stream} backed by a {@code Cursor}.
+   *
+   * @param <T>
+   *          the returned stream element type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   *
+   * @return a stream of mapped objects that must be closed
+   *
+   * @see #selectStream(String, Object, RowBounds)
+   *
+   * @since 4.1.1
+   */
+  public <T> Stream<T> selectStream(String statement, Object parameter) {
+    return selectStream(statement, parameter, RowBounds.DEFAULT);
+  }
+
+  /**
+   * Retrieves the rows of a query as a lazily populated {@code Stream} backed by a {@code Cursor}. Rows are fetched
+   * while the stream is consumed, so large results can be processed in constant memory.
+   * <p>
+   * Unlike {@link #selectCursor(String, Object, RowBounds)}, the {@code SqlSession} (and its connection) stays open
+   * until the stream is closed, so this method can also be used outside of a Spring transaction. The template does not
+   * track the streams it returns: a stream that is never closed keeps its cursor, session and connection open, even
+   * once it is garbage collected. Outside a transaction the stream must be closed, preferably with a try-with-resources
+   * block, to commit and release the connection:
+   *
+   * <pre class="code">
+   * {@code
+   * try (Stream<User> users = sqlSessionTemplate.selectStream("org.example.UserMapper.findAll")) {
+   *   users.forEach(this::export);
+   * }
+   * }
+   * </pre>
+   *
+   * Inside a transaction the stream uses the transactional {@code SqlSession}; closing it just closes the cursor. When
+   * a {@link SqlSessionThrottle} is set, a stream opened outside a transaction holds its permit until it is closed.
+   * While the template is {@link #stop() stopped}, no stream can be opened.
+   *
+   * @param <T>
+   *          the returned stream element type
+   * @param statement
+   *          the statement
+   * @param parameter
+   *          a parameter object to pass to the statement
+   * @param rowBounds
+   *          bounds to limit object retrieval
+   *
+   * @return a stream of mapped objects that must be closed
+   *
+   * @throws IllegalStateException
+   *           if the template is stopped
+   *
+   * @since 4.1.1
+   */
+  public <T> Stream<T> selectStream(String statement, Object parameter, RowBounds rowBounds) {
+    state(this.running, "SqlSessionTemplate is stopped, no stream can be opened until it is started again");
+    var throttle = TransactionSynchronizationManager.isActualTransactionActive() ? null : this.throttle;
+    if (throttle != null) {
+      throttle.acquire();
+    }
+    SqlSession sqlSession = null;
+    try {
+      sqlSession = getSqlSession(this.sqlSessionFactory, this.executorType, this.exceptionTranslator,
+          this.executorTypeChangeAllowed);
+      Cursor<T> cursor = sqlSession.selectCursor(statement, parameter, rowBounds);
+      var iterator = cursor.iterator();
+      var spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+          T next;
+          try {
+            if (!iterator.hasNext()) {
+              return false;
+            }
+            next = iterator.next();
+          } catch (RuntimeException e) {
+            throw translateException(e);
+          }
+          action.accept(next);
+          return true;
+        }
+      };
+      var session = sqlSession;
+      var forceCommit = !isReadOnlyStatement(statement);
+      var stream = StreamSupport.stream(spliterator, false);
+      return stream.onClose(() -> closeStream(session, cursor, forceCommit, throttle));
+    } catch (RuntimeException e) {
+      if (sqlSession != null) {
+        closeSqlSession(sqlSession, this.sqlSessionFactory);
+      }
+      if (throttle != null) {
+        throttle.release();
+      }
+      throw translateException(e);
+    }
+  }
+
   @Override
   public <E> List<E> selectList(String statement) {
     return this.sqlSessionProxy.selectList(statement);
@@ -332,6 +690,88 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
   public void destroy() throws Exception {
     // This method forces spring disposer to avoid call of SqlSessionTemplate.close() which gives
     // UnsupportedOperationException
+    var pool = this.sessionPool;
+    if (pool != null) {
+      pool.clear();
+    }
+  }
+
+  /**
+   * Marks the template as running again, for instance after a CRaC restore. Nothing is opened here: the resources
+   * released by {@link #stop()} are acquired again on demand.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void start() {
+    this.running = true;
+  }
+
+  /**
+   * Refuses new streams from {@code selectStream} and closes the idle sessions of the session pool. Called by Spring
+   * when the context is stopped, for instance before a CRaC checkpoint. Streams still open are left to the code
+   * iterating them, which must close them. Other calls keep working, new sessions being opened on demand.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void stop() {
+    this.running = false;
+    var pool = this.sessionPool;
+    if (pool != null) {
+      pool.clear();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  private void closeStream(SqlSession sqlSession, Cursor<?> cursor, boolean forceCommit,
+      SqlSessionThrottle throttle) {
+    try {
+      cursor.close();
+      if (!isSqlSessionTransactional(sqlSession, this.sqlSessionFactory)) {
+        sqlSession.commit(forceCommit);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      throw translateException(e);
+    } finally {
+      closeSqlSession(sqlSession, this.sqlSessionFactory);
+      if (throttle != null) {
+        throttle.release();
+      }
+    }
+  }
+
+  private boolean isReadOnlyStatement(Object statement) {
+    if (!this.skipReadOnlyCommit || !(statement instanceof String)) {
+      return false;
+    }
+    var configuration = getConfiguration();
+    var statementId = (String) statement;
+    if (!configuration.hasStatement(statementId, false)) {
+      return false;
+    }
+    var mappedStatement = configuration.getMappedStatement(statementId, false);
+    return mappedStatement.getSqlCommandType() == SqlCommandType.SELECT
+        && mappedStatement.getStatementType() != StatementType.CALLABLE;
+  }
+
+  private RuntimeException translateException(RuntimeException e) {
+    if (this.exceptionTranslator == null) {
+      return e;
+    }
+    var exception = e;
+    // cursor iteration wraps SQLExceptions in plain RuntimeExceptions
+    if (!(exception instanceof PersistenceException) && exception.getCause() instanceof SQLException) {
+      exception = new PersistenceException(exception.getCause());
+    }
+    RuntimeException translated = this.exceptionTranslator.translateExceptionIfPossible(exception);
+    return translated == null ? e : translated;
   }
 
   /**
@@ -342,14 +782,48 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
   private class SqlSessionInterceptor implements InvocationHandler {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (isCoalesced(method, args) && !TransactionSynchronizationManager.isSynchronizationActive()) {
+        var key = Arrays.asList(method.getName(), args[0], args.length > 1 ? args[1] : null);
+        return SqlSessionTemplate.this.singleFlight.execute(key, () -> invokeThrottled(method, args));
+      }
+      return invokeThrottled(method, args);
+    }
+
+    private boolean isCoalesced(Method method, Object[] args) {
+      return !SqlSessionTemplate.this.coalescedStatements.isEmpty()
+          && ("selectOne".equals(method.getName()) || "selectList".equals(method.getName())) && args.length <= 2
+          && SqlSessionTemplate.this.coalescedStatements.contains(args[0]);
+    }
+
+    private Object invokeThrottled(Method method, Object[] args) throws Throwable {
+      var throttle = SqlSessionTemplate.this.throttle;
+      if (throttle == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+        return invokeSqlSession(method, args);
+      }
+      throttle.acquire();
+      try {
+        return invokeSqlSession(method, args);
+      } finally {
+        throttle.release();
+      }
+    }
+
+    private Object invokeSqlSession(Method method, Object[] args) throws Throwable {
+      var pool = SqlSessionTemplate.this.sessionPool;
+      if (pool != null && SqlSessionPool.supports(method)
+          && !TransactionSynchronizationManager.isSynchronizationActive()) {
+        return invokePooledSqlSession(pool, method, args);
+      }
       var sqlSession = getSqlSession(SqlSessionTemplate.this.sqlSessionFactory, SqlSessionTemplate.this.executorType,
-          SqlSessionTemplate.this.exceptionTranslator);
+          SqlSessionTemplate.this.exceptionTranslator, SqlSessionTemplate.this.executorTypeChangeAllowed);
       try {
         var result = method.invoke(sqlSession, args);
         if (!isSqlSessionTransactional(sqlSession, SqlSessionTemplate.this.sqlSessionFactory)) {
           // force commit even on non-dirty sessions because some databases require
           // a commit/rollback before calling close()
-          sqlSession.commit(true);
+          sqlSession.commit(!isReadOnlyCall(method, args));
+        } else {
+          flushBatchIfNeeded(sqlSession, method);
         }
         return result;
       } catch (Throwable t) {
@@ -371,6 +845,49 @@ public class SqlSessionTemplate implements SqlSession, DisposableBean {
         }
       }
     }
+
+    private void flushBatchIfNeeded(SqlSession sqlSession, Method method) {
+      var threshold = SqlSessionTemplate.this.batchFlushThreshold;
+      if (threshold == 0 || SqlSessionTemplate.this.executorType != ExecutorType.BATCH
+          || !("insert".equals(method.getName()) || "update".equals(method.getName())
+              || "delete".equals(method.getName()))) {
+        return;
+      }
+      var holder = (SqlSessionHolder) TransactionSynchronizationManager
+          .getResource(SqlSessionTemplate.this.sqlSessionFactory);
+      if (holder.addBatchStatement() >= threshold) {
+        holder.addBatchResults(sqlSession.flushStatements());
+      }
+    }
+
+    private boolean isReadOnlyCall(Method method, Object[] args) {
+      return method.getName().startsWith("select") && args != null && args.length > 0
+          && isReadOnlyStatement(args[0]);
+    }
+
+    private Object invokePooledSqlSession(SqlSessionPool pool, Method method, Object[] args) throws Throwable {
+      var pooledSession = pool.borrow();
+      Object result;
+      try {
+        result = method.invoke(pooledSession.getSqlSession(), args);
+        pooledSession.getSqlSession().commit(!isReadOnlyCall(method, args));
+      } catch (Throwable t) {
+        // a failed session may hold uncommitted work or a broken executor, it is never reused
+        pool.discard(pooledSession);
+        var unwrapped = unwrapThrowable(t);
+        if (SqlSessionTemplate.this.exceptionTranslator != null && unwrapped instanceof PersistenceException) {
+          Throwable translated = SqlSessionTemplate.this.exceptionTranslator
+              .translateExceptionIfPossible((PersistenceException) unwrapped);
+          if (translated != null) {
+            unwrapped = translated;
+          }
+        }
+        throw unwrapped;
+      }
+      // never throws, a session whose connection cannot be released is closed instead of reused
+      pool.release(pooledSession);
+      return result;
+    }
   }
 
 }
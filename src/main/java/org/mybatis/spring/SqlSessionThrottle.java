@@ -0,0 +1,188 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.springframework.util.Assert.isTrue;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Limits the number of {@code SqlSession} operations that run at the same time. Meant to be sized to the connection
+ * pool of the {@code DataSource} so that, when thousands of (virtual) threads call a {@link SqlSessionTemplate} at once,
+ * the surplus waits here in a fair, first-come first-served queue instead of piling up inside the pool.
+ * <p>
+ * Waiting is done with a {@link Semaphore}, which parks the caller without pinning a virtual thread to its carrier.
+ * The time spent waiting is recorded and exposed through the {@code get*WaitTime()} methods so it can be published as
+ * a metric.
+ *
+ * @see SqlSessionTemplate#setThrottle(SqlSessionThrottle)
+ *
+ * @since 4.1.1
+ */
+public class SqlSessionThrottle {
+
+  private final int permits;
+
+  private final Semaphore semaphore;
+
+  private final long acquireTimeoutNanos;
+
+  private final LongAdder acquireCount = new LongAdder();
+
+  private final LongAdder timeoutCount = new LongAdder();
+
+  private final LongAdder totalWaitNanos = new LongAdder();
+
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /**
+   * Creates a throttle that waits as long as needed for a permit.
+   *
+   * @param permits
+   *          the maximum number of operations running at the same time, usually the connection pool size
+   */
+  public SqlSessionThrottle(int permits) {
+    this(permits, null);
+  }
+
+  /**
+   * Creates a throttle that gives up after waiting the given time for a permit.
+   *
+   * @param permits
+   *          the maximum number of operations running at the same time, usually the connection pool size
+   * @param acquireTimeout
+   *          the maximum time to wait for a permit, {@code null} to wait as long as needed
+   */
+  public SqlSessionThrottle(int permits, Duration acquireTimeout) {
+    isTrue(permits > 0, "Property 'permits' must be greater than zero");
+    this.permits = permits;
+    this.semaphore = new Semaphore(permits, true);
+    this.acquireTimeoutNanos = acquireTimeout == null ? -1 : acquireTimeout.toNanos();
+  }
+
+  /**
+   * Waits for a permit. Every successful call must be followed by a call to {@link #release()}.
+   *
+   * @throws TransientDataAccessResourceException
+   *           if the acquire timeout elapsed or the thread was interrupted while waiting
+   */
+  public void acquire() {
+    var start = System.nanoTime();
+    try {
+      if (this.acquireTimeoutNanos < 0) {
+        this.semaphore.acquire();
+      } else if (!this.semaphore.tryAcquire(this.acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        this.timeoutCount.increment();
+        throw new TransientDataAccessResourceException(
+            "Timed out after " + Duration.ofNanos(this.acquireTimeoutNanos) + " waiting for a SqlSession permit");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransientDataAccessResourceException("Interrupted while waiting for a SqlSession permit", e);
+    }
+    var waited = System.nanoTime() - start;
+    this.acquireCount.increment();
+    this.totalWaitNanos.add(waited);
+    this.maxWaitNanos.accumulateAndGet(waited, Math::max);
+  }
+
+  /**
+   * Releases a permit obtained by {@link #acquire()}.
+   */
+  public void release() {
+    this.semaphore.release();
+  }
+
+  /**
+   * Gets the maximum number of operations running at the same time.
+   *
+   * @return the number of permits
+   */
+  public int getPermits() {
+    return this.permits;
+  }
+
+  /**
+   * Gets the number of permits currently free.
+   *
+   * @return the number of free permits
+   */
+  public int getAvailablePermits() {
+    return this.semaphore.availablePermits();
+  }
+
+  /**
+   * Gets an estimate of the number of threads waiting for a permit.
+   *
+   * @return the number of waiting threads
+   */
+  public int getQueueLength() {
+    return this.semaphore.getQueueLength();
+  }
+
+  /**
+   * Gets the number of permits granted so far.
+   *
+   * @return the number of granted permits
+   */
+  public long getAcquireCount() {
+    return this.acquireCount.sum();
+  }
+
+  /**
+   * Gets the number of callers that gave up because the acquire timeout elapsed.
+   *
+   * @return the number of timeouts
+   */
+  public long getTimeoutCount() {
+    return this.timeoutCount.sum();
+  }
+
+  /**
+   * Gets the accumulated time callers spent waiting for a permit.
+   *
+   * @return the total wait time
+   */
+  public Duration getTotalWaitTime() {
+    return Duration.ofNanos(this.totalWaitNanos.sum());
+  }
+
+  /**
+   * Gets the longest time a caller spent waiting for a permit.
+   *
+   * @return the maximum wait time
+   */
+  public Duration getMaxWaitTime() {
+    return Duration.ofNanos(this.maxWaitNanos.get());
+  }
+
+  /**
+   * Gets the average time callers spent waiting for a permit.
+   *
+   * @return the average wait time, zero if no permit was granted yet
+   */
+  public Duration getAverageWaitTime() {
+    var count = this.acquireCount.sum();
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(this.totalWaitNanos.sum() / count);
+  }
+
+}
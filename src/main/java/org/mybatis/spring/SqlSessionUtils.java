@@ -18,11 +18,13 @@ package org.mybatis.spring;
 import static org.springframework.util.Assert.notNull;
 
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.logging.Logger;
 import org.mybatis.logging.LoggerFactory;
+import org.mybatis.spring.cache.CacheInvalidationBus;
 import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
 import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
@@ -93,12 +95,48 @@ public final class SqlSessionUtils {
    */
   public static SqlSession getSqlSession(SqlSessionFactory sessionFactory, ExecutorType executorType,
       PersistenceExceptionTranslator exceptionTranslator) {
+    return getSqlSession(sessionFactory, executorType, exceptionTranslator, false);
+  }
+
+  /**
+   * Gets an SqlSession from Spring Transaction Manager or creates a new one if needed, like
+   * {@link #getSqlSession(SqlSessionFactory, ExecutorType, PersistenceExceptionTranslator)}, optionally allowing the
+   * {@code ExecutorType} to change within a transaction.
+   * <p>
+   * When allowed, a transaction that already holds a session of another {@code ExecutorType} gets an additional
+   * session of the requested type, sharing the same Spring managed connection. Statements pending in the
+   * {@code BATCH} session are flushed whenever another session of the transaction is requested, so that they are
+   * executed in the order they were issued. All the sessions are committed and closed with the transaction.
+   *
+   * @param sessionFactory
+   *          a MyBatis {@code SqlSessionFactory} to create new sessions
+   * @param executorType
+   *          The executor type of the SqlSession to create
+   * @param exceptionTranslator
+   *          Optional. Translates SqlSession.commit() exceptions to Spring exceptions.
+   * @param executorTypeChangeAllowed
+   *          whether a session of another executor type may join the current transaction
+   *
+   * @return an SqlSession managed by Spring Transaction Manager
+   *
+   * @throws TransientDataAccessResourceException
+   *           if a transaction is active and the {@code SqlSessionFactory} is not using a
+   *           {@code SpringManagedTransactionFactory}, or if the executor type changes and that is not allowed
+   *
+   * @since 4.1.1
+   */
+  public static SqlSession getSqlSession(SqlSessionFactory sessionFactory, ExecutorType executorType,
+      PersistenceExceptionTranslator exceptionTranslator, boolean executorTypeChangeAllowed) {
 
     notNull(sessionFactory, NO_SQL_SESSION_FACTORY_SPECIFIED);
     notNull(executorType, NO_EXECUTOR_TYPE_SPECIFIED);
 
     var holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sessionFactory);
 
+    if (executorTypeChangeAllowed && holder != null && holder.isSynchronizedWithTransaction()) {
+      return sessionHolderOfAnyExecutorType(sessionFactory, executorType, exceptionTranslator, holder);
+    }
+
     var session = sessionHolder(executorType, holder);
     if (session != null) {
       return session;
@@ -173,6 +211,36 @@ public final class SqlSessionUtils {
     return session;
   }
 
+  private static SqlSession sessionHolderOfAnyExecutorType(SqlSessionFactory sessionFactory, ExecutorType executorType,
+      PersistenceExceptionTranslator exceptionTranslator, SqlSessionHolder holder) {
+    var batchSession = executorType == ExecutorType.BATCH ? null : holder.getSqlSession(ExecutorType.BATCH);
+    if (batchSession != null) {
+      try {
+        holder.addBatchResults(batchSession.flushStatements());
+      } catch (PersistenceException p) {
+        if (exceptionTranslator != null) {
+          var translated = exceptionTranslator.translateExceptionIfPossible(p);
+          if (translated != null) {
+            throw translated;
+          }
+        }
+        throw p;
+      }
+    }
+
+    var session = holder.getSqlSession(executorType);
+    if (session == null) {
+      LOGGER.debug(() -> "Creating a new SqlSession with ExecutorType " + executorType + " for current transaction");
+      session = sessionFactory.openSession(executorType);
+      holder.addSqlSession(executorType, session);
+    }
+    holder.requested();
+
+    var fetched = session;
+    LOGGER.debug(() -> "Fetched SqlSession [" + fetched + "] from current transaction");
+    return session;
+  }
+
   /**
    * Checks if {@code SqlSession} passed as an argument is managed by Spring {@code TransactionSynchronizationManager}
    * If it is not, it closes it, otherwise it just updates the reference counter and lets Spring call the close callback
@@ -188,7 +256,7 @@ public final class SqlSessionUtils {
     notNull(sessionFactory, NO_SQL_SESSION_FACTORY_SPECIFIED);
 
     var holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sessionFactory);
-    if (holder != null && holder.getSqlSession() == session) {
+    if (holder != null && holder.holds(session)) {
       LOGGER.debug(() -> "Releasing transactional SqlSession [" + session + "]");
       holder.released();
     } else {
@@ -213,7 +281,7 @@ public final class SqlSessionUtils {
 
     var holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sessionFactory);
 
-    return holder != null && holder.getSqlSession() == session;
+    return holder != null && holder.holds(session);
   }
 
   /**
@@ -269,8 +337,16 @@ public final class SqlSessionUtils {
       // TODO This updates 2nd level caches but the tx may be rolledback later on!
       if (TransactionSynchronizationManager.isActualTransactionActive()) {
         try {
-          LOGGER.debug(() -> "Transaction synchronization committing SqlSession [" + this.holder.getSqlSession() + "]");
-          this.holder.getSqlSession().commit();
+          var batchSession = this.holder.getSqlSession(ExecutorType.BATCH);
+          if (batchSession != null) {
+            this.holder.addBatchResults(batchSession.flushStatements());
+            LOGGER.debug(() -> "Transaction executed " + this.holder.getBatchStatementCount()
+                + " batched statements updating " + this.holder.getBatchUpdateCount() + " rows");
+          }
+          for (SqlSession sqlSession : this.holder.getSqlSessions()) {
+            LOGGER.debug(() -> "Transaction synchronization committing SqlSession [" + sqlSession + "]");
+            sqlSession.commit();
+          }
         } catch (PersistenceException p) {
           if (this.holder.getPersistenceExceptionTranslator() != null) {
             var translated = this.holder.getPersistenceExceptionTranslator().translateExceptionIfPossible(p);
@@ -292,13 +368,15 @@ public final class SqlSessionUtils {
             .debug(() -> "Transaction synchronization deregistering SqlSession [" + this.holder.getSqlSession() + "]");
         TransactionSynchronizationManager.unbindResource(sessionFactory);
         this.holderActive = false;
-        LOGGER.debug(() -> "Transaction synchronization closing SqlSession [" + this.holder.getSqlSession() + "]");
-        this.holder.getSqlSession().close();
+        closeSqlSessions();
       }
     }
 
     @Override
     public void afterCompletion(int status) {
+      if (status == STATUS_COMMITTED && !this.holder.getFlushedNamespaces().isEmpty()) {
+        publishFlushedNamespaces();
+      }
       if (this.holderActive) {
         // afterCompletion may have been called from a different thread
         // so avoid failing if there is nothing in this one
@@ -306,11 +384,25 @@ public final class SqlSessionUtils {
             .debug(() -> "Transaction synchronization deregistering SqlSession [" + this.holder.getSqlSession() + "]");
         TransactionSynchronizationManager.unbindResourceIfPossible(sessionFactory);
         this.holderActive = false;
-        LOGGER.debug(() -> "Transaction synchronization closing SqlSession [" + this.holder.getSqlSession() + "]");
-        this.holder.getSqlSession().close();
+        closeSqlSessions();
       }
       this.holder.reset();
     }
+
+    private void closeSqlSessions() {
+      for (SqlSession sqlSession : this.holder.getSqlSessions()) {
+        LOGGER.debug(() -> "Transaction synchronization closing SqlSession [" + sqlSession + "]");
+        sqlSession.close();
+      }
+    }
+
+    private void publishFlushedNamespaces() {
+      for (Interceptor interceptor : this.sessionFactory.getConfiguration().getInterceptors()) {
+        if (interceptor instanceof CacheInvalidationBus) {
+          ((CacheInvalidationBus) interceptor).publish(this.holder.getFlushedNamespaces());
+        }
+      }
+    }
   }
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Evicts all the cached results of the named {@link MapperCacheable} methods of the same mapper when the annotated
+ * method completes normally. When called inside a transaction, the results are evicted again after the transaction
+ * completes so that results loaded by other callers before the commit are not kept.
+ *
+ * @see MapperCacheable
+ *
+ * @since 4.1.1
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface MapperCacheEvict {
+
+  /**
+   * The names of the cached methods to evict.
+   *
+   * @return the method names
+   */
+  String[] value();
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of a mapper method, keyed by its arguments. Unlike the second-level cache of MyBatis, which is
+ * shared by a namespace and flushed by any of its writes, the cache is specific to the method and only evicted when its
+ * entries expire, overflow {@link #maxSize()} or a method annotated with {@link MapperCacheEvict} names it.
+ * <p>
+ * Applied by {@link org.mybatis.spring.mapper.MapperFactoryBean} when it creates the mapper. Inside a read-write
+ * transaction the cache is bypassed, so the transaction sees its own changes. Cached results are shared by all callers
+ * and must be treated as read-only.
+ *
+ * <pre class="code">
+ * &#64;MapperCacheable(timeToLive = 5, timeUnit = TimeUnit.MINUTES, maxSize = 500)
+ * Product findProduct(long id);
+ *
+ * &#64;MapperCacheEvict("findProduct")
+ * int updateProduct(Product product);
+ * </pre>
+ *
+ * @see MapperCacheEvict
+ *
+ * @since 4.1.1
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface MapperCacheable {
+
+  /**
+   * How long a result stays cached after it was loaded.
+   *
+   * @return the time to live, {@code 0} to keep results until they are evicted
+   */
+  long timeToLive() default 60;
+
+  /**
+   * The unit of {@link #timeToLive()}.
+   *
+   * @return the time unit
+   */
+  TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+  /**
+   * The maximum number of cached results. The oldest results are evicted first.
+   *
+   * @return the maximum size
+   */
+  int maxSize() default 1000;
+
+}
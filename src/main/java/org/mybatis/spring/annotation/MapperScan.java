@@ -174,6 +174,38 @@ public @interface MapperScan {
    */
   String lazyInitialization() default "";
 
+  /**
+   * Whether defer the addition of mappers to MyBatis until their first use. Mapper beans are still created eagerly
+   * (unless {@link #lazyInitialization()} is enabled) but parsing their annotations is postponed.
+   * <p>
+   * Requires the {@code SqlSessionFactory} to use a {@code LazyMapperConfiguration}, for instance with
+   * {@code SqlSessionFactoryBean#setLazyMapperLocations(boolean)}. With another configuration the mappers are added at
+   * startup and a warning is logged.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return set {@code true} to enable deferred registration
+   *
+   * @see org.mybatis.spring.mapper.MapperFactoryBean#setDeferredRegistration(boolean)
+   *
+   * @since 4.1.1
+   */
+  String deferredRegistration() default "";
+
+  /**
+   * Whether prepare the scanned mappers in parallel (class loading and reflectors of their parameter and result types)
+   * before they are added to MyBatis one after the other.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @return set {@code true} to enable parallel registration
+   *
+   * @see org.mybatis.spring.mapper.MapperFactoryBean#setMapperInterfaceGroup(java.util.Collection)
+   *
+   * @since 4.1.1
+   */
+  String parallelRegistration() default "";
+
   /**
    * Specifies the default scope of scanned mappers.
    * <p>
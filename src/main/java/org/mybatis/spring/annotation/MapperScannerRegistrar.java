@@ -146,6 +146,16 @@ public class MapperScannerRegistrar implements ImportBeanDefinitionRegistrar, Re
       builder.addPropertyValue("lazyInitialization", lazyInitialization);
     }
 
+    var deferredRegistration = annoAttrs.getString("deferredRegistration");
+    if (StringUtils.hasText(deferredRegistration)) {
+      builder.addPropertyValue("deferredRegistration", deferredRegistration);
+    }
+
+    var parallelRegistration = annoAttrs.getString("parallelRegistration");
+    if (StringUtils.hasText(parallelRegistration)) {
+      builder.addPropertyValue("parallelRegistration", parallelRegistration);
+    }
+
     var defaultScope = annoAttrs.getString("defaultScope");
     if (!AbstractBeanDefinition.SCOPE_DEFAULT.equals(defaultScope)) {
       builder.addPropertyValue("defaultScope", defaultScope);
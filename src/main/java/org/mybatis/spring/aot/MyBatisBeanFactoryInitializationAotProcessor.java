@@ -0,0 +1,193 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.aot;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Contributes, at build time, the hints needed to call the mappers registered in the bean factory from a native image.
+ * <p>
+ * The mapper bean definitions themselves are precomputed by Spring AOT like any other bean definition (the scanning
+ * done by {@code MapperScannerConfigurer} is skipped when generated artifacts are used). This processor adds what
+ * MyBatis needs at runtime on top of them: a JDK proxy and public methods for each mapper interface, reflection on the
+ * types used by its methods, the mapper XML file next to the interface and the {@code mapperLocations} patterns
+ * declared on {@link SqlSessionFactoryBean} definitions.
+ *
+ * @since 4.1.1
+ */
+class MyBatisBeanFactoryInitializationAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+  private static final String MAPPER_INTERFACE_PROPERTY = "mapperInterface";
+
+  private static final String MAPPER_LOCATIONS_PROPERTY = "mapperLocations";
+
+  @Override
+  public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+    var classLoader = beanFactory.getBeanClassLoader();
+    Set<Class<?>> mapperInterfaces = new LinkedHashSet<>();
+    Set<String> mapperLocations = new LinkedHashSet<>();
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      var definition = beanFactory.getBeanDefinition(beanName);
+      var beanClass = resolveClass(definition.getBeanClassName(), classLoader);
+      if (beanClass == null) {
+        continue;
+      }
+      if (MapperFactoryBean.class.isAssignableFrom(beanClass)) {
+        var mapperInterface = resolveMapperInterface(definition, classLoader);
+        if (mapperInterface != null) {
+          mapperInterfaces.add(mapperInterface);
+        }
+      } else if (SqlSessionFactoryBean.class.isAssignableFrom(beanClass)) {
+        var propertyValue = definition.getPropertyValues().getPropertyValue(MAPPER_LOCATIONS_PROPERTY);
+        if (propertyValue != null) {
+          collectLocations(propertyValue.getValue(), mapperLocations);
+        }
+      }
+    }
+    if (mapperInterfaces.isEmpty() && mapperLocations.isEmpty()) {
+      return null;
+    }
+    return (generationContext, beanFactoryInitializationCode) -> {
+      var hints = generationContext.getRuntimeHints();
+      mapperInterfaces.forEach(mapperInterface -> registerMapperHints(hints, mapperInterface));
+      mapperLocations.forEach(location -> hints.resources().registerPattern(location));
+    };
+  }
+
+  private static void registerMapperHints(RuntimeHints hints, Class<?> mapperInterface) {
+    hints.proxies().registerJdkProxy(mapperInterface);
+    hints.reflection().registerType(mapperInterface, MemberCategory.INVOKE_PUBLIC_METHODS);
+    hints.resources().registerPattern(ClassUtils.convertClassNameToResourcePath(mapperInterface.getName()) + ".xml");
+
+    List<Type> types = new ArrayList<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (method.getDeclaringClass() == Object.class) {
+        continue;
+      }
+      types.add(ResolvableType.forMethodReturnType(method, mapperInterface).getType());
+      for (var i = 0; i < method.getParameterCount(); i++) {
+        types.add(ResolvableType.forMethodParameter(method, i, mapperInterface).getType());
+      }
+    }
+    new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+        types.stream().filter(MyBatisBeanFactoryInitializationAotProcessor::isApplicationType).toArray(Type[]::new));
+  }
+
+  private static boolean isApplicationType(Type type) {
+    if (type instanceof Class) {
+      var clazz = (Class<?>) type;
+      return !clazz.isPrimitive() && !clazz.getName().startsWith("java.");
+    }
+    // generic types are resolved by the registrar, which walks their type arguments
+    return true;
+  }
+
+  private static Class<?> resolveMapperInterface(BeanDefinition definition, ClassLoader classLoader) {
+    var objectType = definition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+    if (objectType == null) {
+      var propertyValue = definition.getPropertyValues().getPropertyValue(MAPPER_INTERFACE_PROPERTY);
+      objectType = propertyValue == null ? null : propertyValue.getValue();
+    }
+    if (objectType == null) {
+      var argumentValue = definition.getConstructorArgumentValues().getIndexedArgumentValue(0, null);
+      objectType = argumentValue == null ? null : argumentValue.getValue();
+    }
+    if (objectType instanceof ResolvableType) {
+      return ((ResolvableType) objectType).resolve();
+    }
+    if (objectType instanceof Class) {
+      return (Class<?>) objectType;
+    }
+    if (objectType instanceof TypedStringValue) {
+      return resolveClass(((TypedStringValue) objectType).getValue(), classLoader);
+    }
+    if (objectType instanceof String) {
+      return resolveClass((String) objectType, classLoader);
+    }
+    return null;
+  }
+
+  private static void collectLocations(Object value, Set<String> locations) {
+    if (value instanceof TypedStringValue) {
+      collectLocations(((TypedStringValue) value).getValue(), locations);
+    } else if (value instanceof String) {
+      for (String location : StringUtils.tokenizeToStringArray((String) value, ",; \t\n")) {
+        var pattern = toResourcePattern(location);
+        if (pattern != null) {
+          locations.add(pattern);
+        }
+      }
+    } else if (value instanceof Object[]) {
+      for (Object element : (Object[]) value) {
+        collectLocations(element, locations);
+      }
+    } else if (value instanceof Collection) {
+      for (Object element : (Collection<?>) value) {
+        collectLocations(element, locations);
+      }
+    }
+  }
+
+  private static String toResourcePattern(String location) {
+    // placeholders are only resolved at runtime and other protocols cannot be embedded in the image
+    if (location.contains("${")) {
+      return null;
+    }
+    var pattern = location;
+    if (pattern.startsWith("classpath*:")) {
+      pattern = pattern.substring("classpath*:".length());
+    } else if (pattern.startsWith("classpath:")) {
+      pattern = pattern.substring("classpath:".length());
+    } else if (pattern.contains(":")) {
+      return null;
+    }
+    pattern = StringUtils.trimLeadingCharacter(pattern, '/');
+    return pattern.isEmpty() ? null : pattern;
+  }
+
+  private static Class<?> resolveClass(String className, ClassLoader classLoader) {
+    if (className == null) {
+      return null;
+    }
+    try {
+      return ClassUtils.forName(className, classLoader);
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+  }
+
+}
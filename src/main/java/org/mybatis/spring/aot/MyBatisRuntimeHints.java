@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.aot;
+
+import java.util.List;
+
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registers the hints needed by MyBatis-Spring in a native image whatever the application: the {@code SqlSession}
+ * proxy of {@code SqlSessionTemplate}, the classes MyBatis instantiates by name from its configuration and the DTDs
+ * and schemas used to parse XML files.
+ *
+ * @since 4.1.1
+ */
+class MyBatisRuntimeHints implements RuntimeHintsRegistrar {
+
+  // instantiated reflectively by MyBatis, from aliases or class names found in XML files
+  private static final List<String> REFLECTIVE_CLASS_NAMES = List.of(
+      "org.mybatis.spring.transaction.SpringManagedTransactionFactory", "org.mybatis.spring.cache.SpringCache",
+      "org.mybatis.spring.cache.OffHeapCache", "org.mybatis.spring.cache.StampedeProtectingCache",
+      "org.apache.ibatis.cache.impl.PerpetualCache", "org.apache.ibatis.cache.decorators.LruCache",
+      "org.apache.ibatis.cache.decorators.FifoCache", "org.apache.ibatis.cache.decorators.SoftCache",
+      "org.apache.ibatis.cache.decorators.WeakCache", "org.apache.ibatis.cache.decorators.BlockingCache",
+      "org.apache.ibatis.cache.decorators.ScheduledCache", "org.apache.ibatis.cache.decorators.SerializedCache",
+      "org.apache.ibatis.cache.decorators.LoggingCache", "org.apache.ibatis.cache.decorators.SynchronizedCache",
+      "org.apache.ibatis.scripting.xmltags.XMLLanguageDriver", "org.apache.ibatis.scripting.defaults.RawLanguageDriver",
+      "org.apache.ibatis.logging.slf4j.Slf4jImpl", "org.apache.ibatis.logging.commons.JakartaCommonsLoggingImpl",
+      "org.apache.ibatis.logging.log4j2.Log4j2Impl", "org.apache.ibatis.logging.jdk14.Jdk14LoggingImpl",
+      "org.apache.ibatis.logging.stdout.StdOutImpl", "org.apache.ibatis.logging.nologging.NoLoggingImpl",
+      "org.apache.ibatis.executor.loader.javassist.JavassistProxyFactory",
+      "org.apache.ibatis.reflection.factory.DefaultObjectFactory",
+      "org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory",
+      "org.apache.ibatis.reflection.DefaultReflectorFactory");
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    hints.proxies().registerJdkProxy(SqlSession.class);
+    for (String className : REFLECTIVE_CLASS_NAMES) {
+      hints.reflection().registerTypeIfPresent(classLoader, className, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+          MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+    hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.dtd");
+    hints.resources().registerPattern("org/apache/ibatis/builder/xml/*.xsd");
+    hints.resources().registerPattern("org/mybatis/spring/config/*.xsd");
+  }
+
+}
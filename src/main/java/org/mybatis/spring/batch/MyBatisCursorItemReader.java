@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import org.apache.ibatis.cursor.Cursor;
@@ -30,9 +31,14 @@ import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.batch.infrastructure.item.support.AbstractItemCountingItemStreamItemReader;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.Lifecycle;
 
 /**
  * {@code ItemReader} that uses MyBatis Cursor to read data.
+ * <p>
+ * When the reader is a singleton bean, stopping the Spring context (for instance before a CRaC checkpoint) closes the
+ * cursor and its session. A query cannot be resumed where it stopped, its rows may have changed in between: the next
+ * read fails, and the step has to be restarted, which reopens the reader from its saved {@code ExecutionContext}.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  *
@@ -40,7 +46,7 @@ import org.springframework.beans.factory.InitializingBean;
  *          the generic type
  */
 public class MyBatisCursorItemReader<T> extends AbstractItemCountingItemStreamItemReader<T>
-    implements InitializingBean {
+    implements InitializingBean, Lifecycle {
 
   private String queryId;
 
@@ -53,6 +59,9 @@ public class MyBatisCursorItemReader<T> extends AbstractItemCountingItemStreamIt
   private Cursor<T> cursor;
   private Iterator<T> cursorIterator;
 
+  private final ReentrantLock lock = new ReentrantLock();
+  private boolean stoppedWhileReading;
+
   /**
    * Instantiates a new my batis cursor item reader.
    */
@@ -62,15 +71,34 @@ public class MyBatisCursorItemReader<T> extends AbstractItemCountingItemStreamIt
 
   @Override
   protected T doRead() throws Exception {
-    T next = null;
-    if (cursorIterator.hasNext()) {
-      next = cursorIterator.next();
+    lock.lock();
+    try {
+      if (stoppedWhileReading) {
+        throw new IllegalStateException("The cursor of " + getName()
+            + " was closed when the context stopped, the reader must be reopened to read again");
+      }
+      T next = null;
+      if (cursorIterator.hasNext()) {
+        next = cursorIterator.next();
+      }
+      return next;
+    } finally {
+      lock.unlock();
     }
-    return next;
   }
 
   @Override
   protected void doOpen() throws Exception {
+    lock.lock();
+    try {
+      stoppedWhileReading = false;
+      openCursor();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void openCursor() {
     Map<String, Object> parameters = new HashMap<>();
     if (parameterValues != null) {
       parameters.putAll(parameterValues);
@@ -85,13 +113,74 @@ public class MyBatisCursorItemReader<T> extends AbstractItemCountingItemStreamIt
 
   @Override
   protected void doClose() throws Exception {
-    if (cursor != null) {
-      cursor.close();
+    lock.lock();
+    try {
+      stoppedWhileReading = false;
+      closeCursor();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeCursor() throws Exception {
+    try {
+      if (cursor != null) {
+        cursor.close();
+      }
+    } finally {
+      if (sqlSession != null) {
+        sqlSession.close();
+      }
+      cursor = null;
+      sqlSession = null;
+      cursorIterator = null;
+    }
+  }
+
+  /**
+   * Does nothing: a reader stopped while reading is only reopened by {@link #open}.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void start() {
+    // reopened by a restart of the step
+  }
+
+  /**
+   * Closes the cursor and the session of a reader that is reading, so that no connection is left open. Reads then
+   * fail until the reader is reopened.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public void stop() {
+    lock.lock();
+    try {
+      if (cursorIterator != null) {
+        stoppedWhileReading = true;
+        closeCursor();
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to close the cursor of " + getClass().getSimpleName(), e);
+    } finally {
+      lock.unlock();
     }
-    if (sqlSession != null) {
-      sqlSession.close();
+  }
+
+  /**
+   * Returns whether the reader has an open cursor.
+   *
+   * @since 4.1.1
+   */
+  @Override
+  public boolean isRunning() {
+    lock.lock();
+    try {
+      return cursorIterator != null;
+    } finally {
+      lock.unlock();
     }
-    cursorIterator = null;
   }
 
   /**
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.springframework.util.Assert.notNull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.mybatis.spring.SqlSessionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the second-level caches of a cluster consistent. The bus records the namespaces whose cache is flushed by a
+ * statement and, once the work is committed, publishes them through a {@link CacheInvalidationTransport}. The buses of
+ * the other nodes receive the message and clear their caches for those namespaces.
+ * <p>
+ * Inside a Spring transaction the namespaces are kept in the {@link SqlSessionHolder} and published by the
+ * {@code SqlSession} synchronization after the transaction commits, so a rolled back transaction publishes nothing.
+ * Outside a transaction they are published when the {@code SqlSession} commits.
+ * <p>
+ * Delivery is best effort: a failing transport is logged and does not fail the commit, so caches should still have a
+ * time to live as a safety net. The bus is registered as a plugin by
+ * {@link org.mybatis.spring.SqlSessionFactoryBean#setCacheInvalidationTransport(CacheInvalidationTransport)}.
+ *
+ * @since 4.1.1
+ */
+@Intercepts({ @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+    @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+        RowBounds.class, ResultHandler.class }),
+    @Signature(type = Executor.class, method = "commit", args = { boolean.class }),
+    @Signature(type = Executor.class, method = "rollback", args = { boolean.class }),
+    @Signature(type = Executor.class, method = "close", args = { boolean.class }) })
+public class CacheInvalidationBus implements Interceptor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+  private final String origin = UUID.randomUUID().toString();
+
+  private final Configuration configuration;
+
+  private final CacheInvalidationTransport transport;
+
+  private final Map<Executor, Set<String>> pendingNamespaces = new ConcurrentHashMap<>();
+
+  private final LongAdder publishedCount = new LongAdder();
+
+  private final LongAdder receivedCount = new LongAdder();
+
+  /**
+   * Creates a bus for the given configuration and subscribes it to the transport.
+   *
+   * @param configuration
+   *          the configuration whose caches are kept consistent
+   * @param transport
+   *          the transport shared by the nodes of the cluster
+   */
+  public CacheInvalidationBus(Configuration configuration, CacheInvalidationTransport transport) {
+    notNull(configuration, "Property 'configuration' is required");
+    notNull(transport, "Property 'transport' is required");
+    this.configuration = configuration;
+    this.transport = transport;
+    transport.subscribe(this::receive);
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    var executor = (Executor) invocation.getTarget();
+    var methodName = invocation.getMethod().getName();
+    if ("update".equals(methodName) || "query".equals(methodName)) {
+      var mappedStatement = (MappedStatement) invocation.getArgs()[0];
+      if (mappedStatement.getCache() != null && mappedStatement.isFlushCacheRequired()) {
+        recordFlush(executor, mappedStatement.getCache().getId());
+      }
+      return invocation.proceed();
+    }
+    if ("commit".equals(methodName)) {
+      var result = invocation.proceed();
+      var namespaces = this.pendingNamespaces.remove(executor);
+      if (namespaces != null) {
+        publish(namespaces);
+      }
+      return result;
+    }
+    this.pendingNamespaces.remove(executor);
+    return invocation.proceed();
+  }
+
+  private void recordFlush(Executor executor, String namespace) {
+    var holder = getTransactionalHolder();
+    if (holder == null) {
+      this.pendingNamespaces.computeIfAbsent(executor, key -> new LinkedHashSet<>()).add(namespace);
+    } else {
+      holder.addFlushedNamespace(namespace);
+    }
+  }
+
+  private SqlSessionHolder getTransactionalHolder() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+      if (resource instanceof SqlSessionHolder
+          && ((SqlSessionHolder) resource).getSqlSession().getConfiguration() == this.configuration) {
+        return (SqlSessionHolder) resource;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tells the other nodes to clear the caches of the given namespaces.
+   *
+   * @param namespaces
+   *          the ids of the flushed caches
+   */
+  public void publish(Collection<String> namespaces) {
+    if (namespaces.isEmpty()) {
+      return;
+    }
+    try {
+      this.transport.publish(new CacheInvalidationMessage(this.origin, namespaces));
+      this.publishedCount.increment();
+      LOGGER.debug(() -> "Published cache invalidation for namespaces " + namespaces);
+    } catch (RuntimeException e) {
+      LOGGER.error(() -> "Failed to publish cache invalidation for namespaces " + namespaces, e);
+    }
+  }
+
+  private void receive(CacheInvalidationMessage message) {
+    if (this.origin.equals(message.getOrigin())) {
+      return;
+    }
+    this.receivedCount.increment();
+    for (String namespace : message.getNamespaces()) {
+      if (this.configuration.hasCache(namespace)) {
+        this.configuration.getCache(namespace).clear();
+        LOGGER.debug(() -> "Cleared cache '" + namespace + "' on invalidation from " + message.getOrigin());
+      }
+    }
+  }
+
+  /**
+   * Gets the id that identifies the messages published by this bus.
+   *
+   * @return the origin
+   */
+  public String getOrigin() {
+    return this.origin;
+  }
+
+  /**
+   * Gets the number of messages published by this bus.
+   *
+   * @return the published message count
+   */
+  public long getPublishedCount() {
+    return this.publishedCount.sum();
+  }
+
+  /**
+   * Gets the number of messages received from other buses.
+   *
+   * @return the received message count
+   */
+  public long getReceivedCount() {
+    return this.receivedCount.sum();
+  }
+
+}
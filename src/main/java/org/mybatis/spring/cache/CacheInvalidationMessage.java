@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.springframework.util.Assert.notNull;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Message telling the other nodes of a cluster to clear the caches of the namespaces flushed by a committed
+ * transaction.
+ *
+ * @see CacheInvalidationBus
+ *
+ * @since 4.1.1
+ */
+public final class CacheInvalidationMessage implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String origin;
+
+  private final Set<String> namespaces;
+
+  /**
+   * Creates a new message.
+   *
+   * @param origin
+   *          the id of the bus that published the message
+   * @param namespaces
+   *          the ids of the caches to clear
+   */
+  public CacheInvalidationMessage(String origin, Collection<String> namespaces) {
+    notNull(origin, "Parameter 'origin' must be not null");
+    notNull(namespaces, "Parameter 'namespaces' must be not null");
+    this.origin = origin;
+    this.namespaces = Set.copyOf(namespaces);
+  }
+
+  /**
+   * Gets the id of the bus that published the message.
+   *
+   * @return the origin
+   */
+  public String getOrigin() {
+    return this.origin;
+  }
+
+  /**
+   * Gets the ids of the caches to clear.
+   *
+   * @return the namespaces
+   */
+  public Set<String> getNamespaces() {
+    return this.namespaces;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheInvalidationMessage [origin=" + this.origin + ", namespaces=" + this.namespaces + "]";
+  }
+
+}
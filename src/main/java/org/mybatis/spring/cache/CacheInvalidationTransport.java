@@ -0,0 +1,48 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link CacheInvalidationMessage}s between the nodes of a cluster, for instance over JMS, Redis pub/sub or
+ * a Spring Cloud Bus. Implementations must deliver every published message to the listeners of all nodes, including
+ * the publishing one, which ignores its own messages.
+ *
+ * @see CacheInvalidationBus
+ * @see LoopbackCacheInvalidationTransport
+ *
+ * @since 4.1.1
+ */
+public interface CacheInvalidationTransport {
+
+  /**
+   * Sends a message to all nodes.
+   *
+   * @param message
+   *          the message to send
+   */
+  void publish(CacheInvalidationMessage message);
+
+  /**
+   * Registers a listener for the messages sent by any node.
+   *
+   * @param listener
+   *          the listener to register
+   */
+  void subscribe(Consumer<CacheInvalidationMessage> listener);
+
+}
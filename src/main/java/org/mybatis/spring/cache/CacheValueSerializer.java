@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+/**
+ * Converts the values of an {@link OffHeapCache} to bytes and back. Implementations must be thread safe and must
+ * return a new copy of the value on every {@link #deserialize(byte[])} call.
+ * <p>
+ * The default implementation uses Java serialization, which needs no setup but is neither compact nor fast. A cache
+ * holding a lot of data should plug in a dedicated format (Kryo, Protobuf, JSON, ...) with
+ * {@link OffHeapCache#setSerializer(CacheValueSerializer)} or the {@code serializerType} property.
+ *
+ * @since 4.1.1
+ */
+public interface CacheValueSerializer {
+
+  /**
+   * Converts a value to bytes.
+   *
+   * @param value
+   *          the value, never {@code null}
+   *
+   * @return the serialized value
+   */
+  byte[] serialize(Object value);
+
+  /**
+   * Creates a copy of a value from its bytes.
+   *
+   * @param bytes
+   *          the bytes returned by {@link #serialize(Object)}
+   *
+   * @return the value
+   */
+  Object deserialize(byte[] bytes);
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.io.SerialFilterChecker;
+
+/**
+ * Default {@link CacheValueSerializer}, based on Java serialization like the {@code SerializedCache} of MyBatis.
+ */
+final class JavaCacheValueSerializer implements CacheValueSerializer {
+
+  static final JavaCacheValueSerializer INSTANCE = new JavaCacheValueSerializer();
+
+  private JavaCacheValueSerializer() {
+  }
+
+  @Override
+  public byte[] serialize(Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new CacheException("Shared cache objects must be serializable: " + value.getClass().getName());
+    }
+    try (var bos = new ByteArrayOutputStream(); var oos = new ObjectOutputStream(bos)) {
+      oos.writeObject(value);
+      oos.flush();
+      return bos.toByteArray();
+    } catch (IOException e) {
+      throw new CacheException("Error serializing object. Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) {
+    SerialFilterChecker.check();
+    try (var ois = new ClassResolvingObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return ois.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      throw new CacheException("Error deserializing object. Cause: " + e, e);
+    }
+  }
+
+  private static final class ClassResolvingObjectInputStream extends ObjectInputStream {
+
+    private ClassResolvingObjectInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      try {
+        return Resources.classForName(desc.getName());
+      } catch (ClassNotFoundException e) {
+        // primitive types
+        return super.resolveClass(desc);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationTransport} that delivers the messages synchronously to the listeners of the same JVM. Useful
+ * for tests, where several {@code SqlSessionFactory}s sharing one instance stand for the nodes of a cluster.
+ *
+ * @since 4.1.1
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+  private final List<Consumer<CacheInvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(CacheInvalidationMessage message) {
+    for (Consumer<CacheInvalidationMessage> listener : this.listeners) {
+      listener.accept(message);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<CacheInvalidationMessage> listener) {
+    this.listeners.add(listener);
+  }
+
+}
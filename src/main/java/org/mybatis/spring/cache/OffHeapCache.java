@@ -0,0 +1,411 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.springframework.util.Assert.isTrue;
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * MyBatis {@code Cache} that keeps its values outside of the Java heap, for large and read-mostly results such as
+ * reference data. Only the keys and small block tables stay on the heap, so cached data does not add to garbage
+ * collection work.
+ * <p>
+ * The values are serialized into an arena of direct memory divided in fixed size blocks ({@code blockSize}, 1 KiB by
+ * default). The arena is allocated in slabs of 16 MiB as it fills up, never beyond the {@code capacity}, and the
+ * blocks of evicted or replaced entries are reused for new ones. Direct memory is therefore allocated once instead of
+ * per entry and is never left waiting for the garbage collector to be released. When the blocks of the entries would
+ * exceed the capacity, the least recently used entries are evicted.
+ * <p>
+ * Like the {@code readOnly="false"} caches of MyBatis, every hit returns a fresh copy of the value. Values are written
+ * with Java serialization unless another {@link CacheValueSerializer} is set. A namespace uses this cache with:
+ *
+ * <pre class="code">
+ * {@code
+ * <cache type="org.mybatis.spring.cache.OffHeapCache">
+ *   <property name="capacity" value="268435456"/>
+ *   <property name="serializerType" value="org.example.KryoCacheValueSerializer"/>
+ * </cache>
+ * }
+ * </pre>
+ *
+ * The JVM option {@code -XX:MaxDirectMemorySize} must leave room for the capacity of all caches.
+ *
+ * @since 4.1.1
+ */
+public class OffHeapCache implements Cache {
+
+  /**
+   * The default capacity, 64 MiB.
+   */
+  public static final long DEFAULT_CAPACITY = 64L * 1024 * 1024;
+
+  /**
+   * The default block size, 1 KiB.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+  private static final int SLAB_SIZE = 16 * 1024 * 1024;
+
+  private static final int[] NO_BLOCKS = {};
+
+  private final String id;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final List<ByteBuffer> slabs = new ArrayList<>();
+
+  private int[] freeBlocks = new int[64];
+
+  private int freeBlockCount;
+
+  private long allocatedBlocks;
+
+  private long usedBlocks;
+
+  private long capacity = DEFAULT_CAPACITY;
+
+  private int blockSize = DEFAULT_BLOCK_SIZE;
+
+  private CacheValueSerializer serializer = JavaCacheValueSerializer.INSTANCE;
+
+  /**
+   * Creates a cache with the default capacity.
+   *
+   * @param id
+   *          the cache id, usually the namespace
+   */
+  public OffHeapCache(String id) {
+    this.id = id;
+  }
+
+  @Override
+  public String getId() {
+    return this.id;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    // MyBatis puts null to record a miss, which is the same as having no entry
+    if (value == null) {
+      removeObject(key);
+      return;
+    }
+    var bytes = this.serializer.serialize(value);
+    this.lock.lock();
+    try {
+      release(this.entries.remove(key));
+      var blockCount = (bytes.length + this.blockSize - 1) / this.blockSize;
+      if (blockCount > getMaxBlocks()) {
+        return;
+      }
+      evict(blockCount);
+      var blocks = allocateBlocks(blockCount);
+      for (var i = 0; i < blocks.length; i++) {
+        var offset = i * this.blockSize;
+        slabOf(blocks[i]).put(offsetOf(blocks[i]), bytes, offset, Math.min(this.blockSize, bytes.length - offset));
+      }
+      this.entries.put(key, new Entry(blocks, bytes.length));
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    byte[] bytes;
+    this.lock.lock();
+    try {
+      var entry = this.entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      // copied while locked, the blocks may be reused as soon as the entry is evicted
+      bytes = new byte[entry.length];
+      for (var i = 0; i < entry.blocks.length; i++) {
+        var offset = i * this.blockSize;
+        slabOf(entry.blocks[i]).get(offsetOf(entry.blocks[i]), bytes, offset,
+            Math.min(this.blockSize, bytes.length - offset));
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    return this.serializer.deserialize(bytes);
+  }
+
+  // the removed value is not deserialized just to be returned, MyBatis does not use it
+  @Override
+  public Object removeObject(Object key) {
+    this.lock.lock();
+    try {
+      release(this.entries.remove(key));
+    } finally {
+      this.lock.unlock();
+    }
+    return null;
+  }
+
+  // the slabs are kept, their blocks are reused by the next entries
+  @Override
+  public void clear() {
+    this.lock.lock();
+    try {
+      this.entries.values().forEach(this::release);
+      this.entries.clear();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    this.lock.lock();
+    try {
+      return this.entries.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Sets the maximum number of bytes used by the blocks of the entries. Lowering it evicts entries but does not release
+   * the slabs already allocated.
+   *
+   * @param capacity
+   *          the capacity in bytes
+   */
+  public void setCapacity(long capacity) {
+    isTrue(capacity > 0, "Property 'capacity' must be greater than zero");
+    this.lock.lock();
+    try {
+      this.capacity = capacity;
+      evict(0);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the maximum number of bytes used by the blocks of the entries.
+   *
+   * @return the capacity in bytes
+   */
+  public long getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Sets the size of the blocks the values are stored in. Smaller blocks waste less memory on small values, larger
+   * blocks need fewer copies for large values. Must be set before the first value is stored.
+   *
+   * @param blockSize
+   *          the block size in bytes
+   */
+  public void setBlockSize(int blockSize) {
+    isTrue(blockSize > 0 && blockSize <= SLAB_SIZE, "Property 'blockSize' must be between 1 and " + SLAB_SIZE);
+    this.lock.lock();
+    try {
+      state(this.slabs.isEmpty(), "Property 'blockSize' cannot be changed once values are stored");
+      this.blockSize = blockSize;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the size of the blocks the values are stored in.
+   *
+   * @return the block size in bytes
+   */
+  public int getBlockSize() {
+    return this.blockSize;
+  }
+
+  /**
+   * Sets the serializer of the values.
+   *
+   * @param serializer
+   *          the serializer
+   */
+  public void setSerializer(CacheValueSerializer serializer) {
+    notNull(serializer, "Property 'serializer' is required");
+    this.lock.lock();
+    try {
+      // entries written in another format cannot be read anymore
+      clear();
+      this.serializer = serializer;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Sets the serializer of the values by class name, for the {@code <property>} elements of a {@code <cache>}. The
+   * class must have a no-argument constructor.
+   *
+   * @param serializerType
+   *          the fully qualified class name of a {@link CacheValueSerializer}
+   */
+  public void setSerializerType(String serializerType) {
+    try {
+      setSerializer(BeanUtils.instantiateClass(Resources.classForName(serializerType), CacheValueSerializer.class));
+    } catch (ClassNotFoundException e) {
+      throw new CacheException("Cannot find the serializer '" + serializerType + "' of cache '" + this.id + "'", e);
+    }
+  }
+
+  /**
+   * Gets the serializer of the values.
+   *
+   * @return the serializer
+   */
+  public CacheValueSerializer getSerializer() {
+    return this.serializer;
+  }
+
+  /**
+   * Gets the number of bytes currently used by the blocks of the entries.
+   *
+   * @return the used bytes
+   */
+  public long getUsedBytes() {
+    this.lock.lock();
+    try {
+      return this.usedBlocks * this.blockSize;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of bytes of direct memory allocated by this cache.
+   *
+   * @return the allocated bytes
+   */
+  public long getAllocatedBytes() {
+    this.lock.lock();
+    try {
+      return this.allocatedBlocks * this.blockSize;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private long getMaxBlocks() {
+    return this.capacity / this.blockSize;
+  }
+
+  private void evict(int blockCount) {
+    var iterator = this.entries.values().iterator();
+    while (this.usedBlocks + blockCount > getMaxBlocks() && iterator.hasNext()) {
+      release(iterator.next());
+      iterator.remove();
+    }
+  }
+
+  private int[] allocateBlocks(int blockCount) {
+    if (blockCount == 0) {
+      return NO_BLOCKS;
+    }
+    while (this.freeBlockCount < blockCount) {
+      allocateSlab();
+    }
+    this.freeBlockCount -= blockCount;
+    this.usedBlocks += blockCount;
+    return Arrays.copyOfRange(this.freeBlocks, this.freeBlockCount, this.freeBlockCount + blockCount);
+  }
+
+  // evict() leaves room for the blocks, so a slab can always be allocated when no block is free
+  private void allocateSlab() {
+    var slabBlocks = SLAB_SIZE / this.blockSize;
+    var blockCount = (int) Math.min(slabBlocks, getMaxBlocks() - this.allocatedBlocks);
+    var firstBlock = this.slabs.size() * slabBlocks;
+    this.slabs.add(ByteBuffer.allocateDirect(blockCount * this.blockSize));
+    this.allocatedBlocks += blockCount;
+    ensureFreeBlocksCapacity(this.freeBlockCount + blockCount);
+    // pushed in reverse order so the first blocks of the slab are used first
+    for (var i = blockCount - 1; i >= 0; i--) {
+      this.freeBlocks[this.freeBlockCount++] = firstBlock + i;
+    }
+  }
+
+  private void release(Entry entry) {
+    if (entry != null && entry.blocks.length > 0) {
+      ensureFreeBlocksCapacity(this.freeBlockCount + entry.blocks.length);
+      System.arraycopy(entry.blocks, 0, this.freeBlocks, this.freeBlockCount, entry.blocks.length);
+      this.freeBlockCount += entry.blocks.length;
+      this.usedBlocks -= entry.blocks.length;
+    }
+  }
+
+  private void ensureFreeBlocksCapacity(int size) {
+    if (size > this.freeBlocks.length) {
+      this.freeBlocks = Arrays.copyOf(this.freeBlocks, Math.max(size, this.freeBlocks.length * 2));
+    }
+  }
+
+  private ByteBuffer slabOf(int block) {
+    return this.slabs.get(block / (SLAB_SIZE / this.blockSize));
+  }
+
+  private int offsetOf(int block) {
+    return block % (SLAB_SIZE / this.blockSize) * this.blockSize;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+    return this.id.equals(((Cache) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return this.id.hashCode();
+  }
+
+  private static final class Entry {
+
+    private final int[] blocks;
+
+    private final int length;
+
+    private Entry(int[] blocks, int length) {
+      this.blocks = blocks;
+      this.length = length;
+    }
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.springframework.util.Assert.notNull;
+import static org.springframework.util.Assert.state;
+
+import java.util.Map;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * MyBatis {@code Cache} that stores the entries of a namespace in a cache of the Spring Cache abstraction, for instance
+ * a Caffeine cache obtained from a {@code CaffeineCacheManager}. Size or weight based eviction, time to live, lock-free
+ * reads and native statistics are therefore those of the backing cache and are configured on the
+ * {@link CacheManager}.
+ * <p>
+ * A namespace uses this cache with:
+ *
+ * <pre class="code">
+ * {@code
+ * <cache type="org.mybatis.spring.cache.SpringCache">
+ *   <property name="cacheName" value="users"/>
+ * </cache>
+ * }
+ * </pre>
+ *
+ * or {@code @CacheNamespace(implementation = SpringCache.class)}. The Spring cache is named after the namespace unless
+ * {@code cacheName} is set; each namespace should use its own Spring cache because a flush of the namespace clears it.
+ * All the {@code SpringCache}s of a configuration are bound to their Spring cache by
+ * {@link org.mybatis.spring.SqlSessionFactoryBean#setCacheManager(CacheManager)}.
+ * <p>
+ * MyBatis wraps every custom cache that is not a {@link LoggingCache} in one, which would hide this instance from the
+ * binding done by the {@code SqlSessionFactoryBean}. This class therefore extends {@code LoggingCache}: the
+ * configuration keeps it as is, the hit ratio is still logged and its hit and miss counts are the ones exposed here.
+ * Like for any custom cache, MyBatis adds no synchronization, concurrent access is handled by the backing cache.
+ *
+ * @since 4.1.1
+ */
+public class SpringCache extends LoggingCache {
+
+  private final SpringCacheAdapter adapter;
+
+  private String cacheName;
+
+  /**
+   * Creates an unbound cache for the given namespace.
+   *
+   * @param id
+   *          the cache id, usually the namespace
+   */
+  public SpringCache(String id) {
+    this(new SpringCacheAdapter(id));
+  }
+
+  private SpringCache(SpringCacheAdapter adapter) {
+    super(adapter);
+    this.adapter = adapter;
+  }
+
+  /**
+   * Binds this cache to the Spring cache named {@link #getCacheName()} of the given cache manager.
+   *
+   * @param cacheManager
+   *          the cache manager
+   */
+  public void bind(CacheManager cacheManager) {
+    notNull(cacheManager, "Property 'cacheManager' is required");
+    var target = cacheManager.getCache(getCacheName());
+    notNull(target, () -> "CacheManager did not provide a cache named '" + getCacheName() + "'");
+    setTarget(target);
+  }
+
+  /**
+   * Sets the Spring cache that stores the entries.
+   *
+   * @param target
+   *          the Spring cache
+   */
+  public void setTarget(org.springframework.cache.Cache target) {
+    this.adapter.target = target;
+  }
+
+  /**
+   * Gets the Spring cache that stores the entries.
+   *
+   * @return the Spring cache, {@code null} if this cache is not bound yet
+   */
+  public org.springframework.cache.Cache getTarget() {
+    return this.adapter.target;
+  }
+
+  /**
+   * Returns whether this cache is bound to a Spring cache.
+   *
+   * @return {@code true} if bound
+   */
+  public boolean isBound() {
+    return this.adapter.target != null;
+  }
+
+  /**
+   * Sets the name of the Spring cache. Defaults to the cache id.
+   *
+   * @param cacheName
+   *          the Spring cache name
+   */
+  public void setCacheName(String cacheName) {
+    this.cacheName = cacheName;
+  }
+
+  /**
+   * Gets the name of the Spring cache.
+   *
+   * @return the Spring cache name
+   */
+  public String getCacheName() {
+    return this.cacheName == null ? getId() : this.cacheName;
+  }
+
+  /**
+   * Gets the number of lookups that found an entry. Counted without synchronization, like the hit ratio MyBatis logs,
+   * so the value is approximate under concurrent access.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return this.hits;
+  }
+
+  /**
+   * Gets the number of lookups that found no entry. Approximate under concurrent access.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return Math.max(0, this.requests - this.hits);
+  }
+
+  /**
+   * Gets the ratio of lookups that found an entry. Approximate under concurrent access.
+   *
+   * @return the hit ratio, zero if there was no lookup yet
+   */
+  public double getHitRatio() {
+    var requests = this.requests;
+    return requests == 0 ? 0 : (double) this.hits / requests;
+  }
+
+  private static final class SpringCacheAdapter implements Cache {
+
+    private final String id;
+
+    private volatile org.springframework.cache.Cache target;
+
+    private SpringCacheAdapter(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getId() {
+      return this.id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+      // MyBatis puts null to record a miss, which not every Spring cache accepts
+      if (value == null) {
+        getTarget().evict(key);
+      } else {
+        getTarget().put(key, value);
+      }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+      var valueWrapper = getTarget().get(key);
+      return valueWrapper == null ? null : valueWrapper.get();
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+      var value = getObject(key);
+      getTarget().evict(key);
+      return value;
+    }
+
+    @Override
+    public void clear() {
+      getTarget().clear();
+    }
+
+    // the Spring Cache abstraction does not expose a size, only map based caches report one
+    @Override
+    public int getSize() {
+      var nativeCache = getTarget().getNativeCache();
+      return nativeCache instanceof Map ? ((Map<?, ?>) nativeCache).size() : 0;
+    }
+
+    private org.springframework.cache.Cache getTarget() {
+      var target = this.target;
+      state(target != null, () -> "Cache '" + this.id + "' is not bound to a Spring cache. Set a CacheManager on the "
+          + "SqlSessionFactoryBean or call SpringCache.bind()");
+      return target;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Cache)) {
+        return false;
+      }
+      return this.id.equals(((Cache) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+      return this.id.hashCode();
+    }
+  }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+
+/**
+ * Cache decorator that protects the database from cache stampedes. When a key is missing, only one session loads it
+ * while the other sessions asking for the same key wait for the result instead of running the same query. Optionally:
+ * <ul>
+ * <li>{@code timeToLive}: entries expire after this many milliseconds.</li>
+ * <li>{@code staleTime}: for this many milliseconds after expiry, an entry is still served to the sessions that do not
+ * reload it (stale-while-revalidate), so only the reloading session waits for the database.</li>
+ * <li>{@code refreshAheadTime}: during this many milliseconds before expiry, the first session asking for an entry
+ * reloads it while the others keep getting the current value, so hot entries are refreshed before they expire.</li>
+ * <li>{@code lockTimeout}: the maximum number of milliseconds a session waits for another one to load a key, after
+ * which a {@code CacheException} is thrown. Waits indefinitely when {@code 0}, the default.</li>
+ * </ul>
+ * A flush of the namespace removes all entries, so nothing stale is served after a write; concurrent sessions missing
+ * the same key then wait for the single session that reloads it.
+ * <p>
+ * Used as the cache of a namespace, the decorator keeps its entries in a synchronized LRU cache of {@code size}
+ * entries (1024 by default):
+ *
+ * <pre class="code">
+ * {@code
+ * <cache type="org.mybatis.spring.cache.StampedeProtectingCache">
+ *   <property name="timeToLive" value="60000"/>
+ *   <property name="staleTime" value="10000"/>
+ *   <property name="refreshAheadTime" value="5000"/>
+ * </cache>
+ * }
+ * </pre>
+ *
+ * It can also decorate any thread-safe cache, for instance the one given to
+ * {@link org.mybatis.spring.SqlSessionFactoryBean#setCache(Cache)}. Like MyBatis' {@code BlockingCache}, the lock of a
+ * key is released when the loading session commits or rolls back, which MyBatis does through
+ * {@link #putObject(Object, Object)} and {@link #removeObject(Object)}.
+ *
+ * @since 4.1.1
+ */
+public class StampedeProtectingCache implements Cache {
+
+  private final Cache delegate;
+
+  private final LruCache lruCache;
+
+  private final ConcurrentMap<Object, KeyLock> locks = new ConcurrentHashMap<>();
+
+  private long timeToLive;
+
+  private long staleTime;
+
+  private long refreshAheadTime;
+
+  private long lockTimeout;
+
+  /**
+   * Creates a cache for a namespace, backed by a synchronized LRU cache.
+   *
+   * @param id
+   *          the cache id, usually the namespace
+   */
+  public StampedeProtectingCache(String id) {
+    this.lruCache = new LruCache(new PerpetualCache(id));
+    this.delegate = new SynchronizedCache(this.lruCache);
+  }
+
+  /**
+   * Creates a decorator of the given cache.
+   *
+   * @param delegate
+   *          a thread-safe cache
+   */
+  public StampedeProtectingCache(Cache delegate) {
+    this.lruCache = null;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String getId() {
+    return this.delegate.getId();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    try {
+      // MyBatis puts null to record a miss
+      if (value != null) {
+        this.delegate.putObject(key, new Entry(value, System.currentTimeMillis()));
+      }
+    } finally {
+      releaseLock(key);
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    while (true) {
+      var cached = this.delegate.getObject(key);
+      if (cached != null && !(cached instanceof Entry)) {
+        return cached;
+      }
+      var entry = (Entry) cached;
+      var now = System.currentTimeMillis();
+      if (entry != null && isFresh(entry, now) && !needsRefresh(entry, now)) {
+        return entry.value;
+      }
+      if (entry != null && !isFresh(entry, now) && !isStaleUsable(entry, now)) {
+        this.delegate.removeObject(key);
+        entry = null;
+      }
+      var lock = new KeyLock();
+      var existing = this.locks.putIfAbsent(key, lock);
+      if (existing == null || existing.owner == Thread.currentThread()) {
+        // this session loads the key and releases the lock on commit or rollback
+        return null;
+      }
+      if (entry != null) {
+        // another session is reloading the key
+        return entry.value;
+      }
+      existing.await(key);
+    }
+  }
+
+  /**
+   * Only releases the lock of the key. MyBatis calls this method on rollback to unlock the keys it missed, the entry
+   * itself is kept.
+   */
+  @Override
+  public Object removeObject(Object key) {
+    releaseLock(key);
+    return null;
+  }
+
+  @Override
+  public void clear() {
+    this.delegate.clear();
+  }
+
+  @Override
+  public int getSize() {
+    return this.delegate.getSize();
+  }
+
+  /**
+   * Sets the number of milliseconds after which entries expire. Defaults to {@code 0}, entries never expire.
+   *
+   * @param timeToLive
+   *          the time to live in milliseconds
+   */
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Gets the number of milliseconds after which entries expire.
+   *
+   * @return the time to live in milliseconds
+   */
+  public long getTimeToLive() {
+    return this.timeToLive;
+  }
+
+  /**
+   * Sets the number of milliseconds during which an expired entry is still served while it is reloaded.
+   *
+   * @param staleTime
+   *          the stale time in milliseconds
+   */
+  public void setStaleTime(long staleTime) {
+    this.staleTime = staleTime;
+  }
+
+  /**
+   * Gets the number of milliseconds during which an expired entry is still served while it is reloaded.
+   *
+   * @return the stale time in milliseconds
+   */
+  public long getStaleTime() {
+    return this.staleTime;
+  }
+
+  /**
+   * Sets the number of milliseconds before expiry during which an entry is reloaded ahead.
+   *
+   * @param refreshAheadTime
+   *          the refresh ahead time in milliseconds
+   */
+  public void setRefreshAheadTime(long refreshAheadTime) {
+    this.refreshAheadTime = refreshAheadTime;
+  }
+
+  /**
+   * Gets the number of milliseconds before expiry during which an entry is reloaded ahead.
+   *
+   * @return the refresh ahead time in milliseconds
+   */
+  public long getRefreshAheadTime() {
+    return this.refreshAheadTime;
+  }
+
+  /**
+   * Sets the maximum number of milliseconds to wait for another session loading the same key.
+   *
+   * @param lockTimeout
+   *          the lock timeout in milliseconds, {@code 0} to wait indefinitely
+   */
+  public void setLockTimeout(long lockTimeout) {
+    this.lockTimeout = lockTimeout;
+  }
+
+  /**
+   * Gets the maximum number of milliseconds to wait for another session loading the same key.
+   *
+   * @return the lock timeout in milliseconds
+   */
+  public long getLockTimeout() {
+    return this.lockTimeout;
+  }
+
+  /**
+   * Sets the maximum number of entries of the LRU cache created for a namespace.
+   *
+   * @param size
+   *          the maximum number of entries
+   */
+  public void setSize(int size) {
+    if (this.lruCache == null) {
+      throw new IllegalStateException("The size can only be set on a cache created for a namespace");
+    }
+    this.lruCache.setSize(size);
+  }
+
+  private boolean isFresh(Entry entry, long now) {
+    return this.timeToLive <= 0 || now - entry.writtenAt < this.timeToLive;
+  }
+
+  private boolean needsRefresh(Entry entry, long now) {
+    return this.timeToLive > 0 && this.refreshAheadTime > 0
+        && now - entry.writtenAt >= this.timeToLive - this.refreshAheadTime;
+  }
+
+  private boolean isStaleUsable(Entry entry, long now) {
+    return now - entry.writtenAt < this.timeToLive + this.staleTime;
+  }
+
+  private void releaseLock(Object key) {
+    var lock = this.locks.remove(key);
+    if (lock != null) {
+      lock.latch.countDown();
+    }
+  }
+
+  private final class KeyLock {
+
+    private final Thread owner = Thread.currentThread();
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private void await(Object key) {
+      try {
+        if (lockTimeout <= 0) {
+          this.latch.await();
+        } else if (!this.latch.await(lockTimeout, TimeUnit.MILLISECONDS)) {
+          throw new CacheException(
+              "Couldn't get a lock in " + lockTimeout + " for the key " + key + " at the cache " + getId());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CacheException("Interrupted while waiting for the key " + key + " at the cache " + getId(), e);
+      }
+    }
+  }
+
+  private static final class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+
+    private final long writtenAt;
+
+    private Entry(Object value, long writtenAt) {
+      this.value = value;
+      this.writtenAt = writtenAt;
+    }
+  }
+
+}
@@ -58,6 +58,8 @@ public class MapperScannerBeanDefinitionParser extends AbstractBeanDefinitionPar
   private static final String ATTRIBUTE_FACTORY_REF = "factory-ref";
   private static final String ATTRIBUTE_MAPPER_FACTORY_BEAN_CLASS = "mapper-factory-bean-class";
   private static final String ATTRIBUTE_LAZY_INITIALIZATION = "lazy-initialization";
+  private static final String ATTRIBUTE_DEFERRED_REGISTRATION = "deferred-registration";
+  private static final String ATTRIBUTE_PARALLEL_REGISTRATION = "parallel-registration";
   private static final String ATTRIBUTE_DEFAULT_SCOPE = "default-scope";
   private static final String ATTRIBUTE_PROCESS_PROPERTY_PLACEHOLDERS = "process-property-placeholders";
   private static final String ATTRIBUTE_EXCLUDE_FILTER = "exclude-filter";
@@ -112,6 +114,8 @@ public class MapperScannerBeanDefinitionParser extends AbstractBeanDefinitionPar
     builder.addPropertyValue("sqlSessionTemplateBeanName", element.getAttribute(ATTRIBUTE_TEMPLATE_REF));
     builder.addPropertyValue("sqlSessionFactoryBeanName", element.getAttribute(ATTRIBUTE_FACTORY_REF));
     builder.addPropertyValue("lazyInitialization", element.getAttribute(ATTRIBUTE_LAZY_INITIALIZATION));
+    builder.addPropertyValue("deferredRegistration", element.getAttribute(ATTRIBUTE_DEFERRED_REGISTRATION));
+    builder.addPropertyValue("parallelRegistration", element.getAttribute(ATTRIBUTE_PARALLEL_REGISTRATION));
     builder.addPropertyValue("defaultScope", element.getAttribute(ATTRIBUTE_DEFAULT_SCOPE));
     builder.addPropertyValue("basePackage", element.getAttribute(ATTRIBUTE_BASE_PACKAGE));
 
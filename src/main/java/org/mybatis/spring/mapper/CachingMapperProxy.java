@@ -0,0 +1,234 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import static org.springframework.util.Assert.isTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.mybatis.spring.annotation.MapperCacheEvict;
+import org.mybatis.spring.annotation.MapperCacheable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies {@link MapperCacheable} and {@link MapperCacheEvict} to the methods of a mapper.
+ *
+ * @param <T>
+ *          the mapper type
+ */
+final class CachingMapperProxy<T> implements InvocationHandler {
+
+  private final Class<T> mapperInterface;
+
+  private final T mapper;
+
+  private final Map<Method, MethodResultCache> cachedMethods;
+
+  private final Map<Method, List<MethodResultCache>> evictingMethods;
+
+  private CachingMapperProxy(Class<T> mapperInterface, T mapper, Map<Method, MethodResultCache> cachedMethods,
+      Map<Method, List<MethodResultCache>> evictingMethods) {
+    this.mapperInterface = mapperInterface;
+    this.mapper = mapper;
+    this.cachedMethods = cachedMethods;
+    this.evictingMethods = evictingMethods;
+  }
+
+  /**
+   * Wraps the mapper in a caching proxy when some of its methods are annotated.
+   */
+  static <T> T wrapIfNecessary(Class<T> mapperInterface, T mapper) {
+    Map<Method, MethodResultCache> cachedMethods = new HashMap<>();
+    Map<String, List<MethodResultCache>> cachesByName = new HashMap<>();
+    for (Method method : mapperInterface.getMethods()) {
+      var cacheable = method.getAnnotation(MapperCacheable.class);
+      if (cacheable != null) {
+        isTrue(cacheable.timeToLive() >= 0,
+            () -> "Attribute 'timeToLive' of @MapperCacheable on '" + method + "' must not be negative");
+        isTrue(cacheable.maxSize() > 0,
+            () -> "Attribute 'maxSize' of @MapperCacheable on '" + method + "' must be greater than zero");
+        var cache = new MethodResultCache(cacheable.timeUnit().toNanos(cacheable.timeToLive()), cacheable.maxSize());
+        cachedMethods.put(method, cache);
+        cachesByName.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(cache);
+      }
+    }
+    Map<Method, List<MethodResultCache>> evictingMethods = new HashMap<>();
+    for (Method method : mapperInterface.getMethods()) {
+      var evict = method.getAnnotation(MapperCacheEvict.class);
+      if (evict != null) {
+        List<MethodResultCache> caches = new ArrayList<>();
+        for (String name : evict.value()) {
+          var namedCaches = cachesByName.get(name);
+          if (namedCaches == null) {
+            throw new IllegalArgumentException("@MapperCacheEvict on '" + method + "' names '" + name
+                + "', which is not a @MapperCacheable method of " + mapperInterface.getName());
+          }
+          caches.addAll(namedCaches);
+        }
+        evictingMethods.put(method, caches);
+      }
+    }
+    if (cachedMethods.isEmpty() && evictingMethods.isEmpty()) {
+      return mapper;
+    }
+    var handler = new CachingMapperProxy<>(mapperInterface, mapper, cachedMethods, evictingMethods);
+    return mapperInterface.cast(
+        Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class<?>[] { mapperInterface }, handler));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (Object.class.equals(method.getDeclaringClass())) {
+      return method.invoke(this, args);
+    }
+    var cache = this.cachedMethods.get(method);
+    if (cache != null && !isReadWriteTransactionActive()) {
+      var key = new CacheKey(args == null ? new Object[0] : args);
+      var entry = cache.get(key);
+      if (entry != null) {
+        return entry.value;
+      }
+      var result = invokeMapper(proxy, method, args);
+      cache.put(key, result);
+      return result;
+    }
+    var result = invokeMapper(proxy, method, args);
+    var evictedCaches = this.evictingMethods.get(method);
+    if (evictedCaches != null) {
+      evict(evictedCaches);
+    }
+    return result;
+  }
+
+  private Object invokeMapper(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.isDefault()) {
+      return InvocationHandler.invokeDefault(proxy, method, args);
+    }
+    try {
+      return method.invoke(this.mapper, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  private static boolean isReadWriteTransactionActive() {
+    return TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+  }
+
+  private static void evict(List<MethodResultCache> caches) {
+    caches.forEach(MethodResultCache::clear);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // other callers may have cached data read before the commit
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          caches.forEach(MethodResultCache::clear);
+        }
+      });
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Caching proxy for mapper " + this.mapperInterface.getName();
+  }
+
+  /**
+   * Results of one method, evicted in write order once they expire or the cache overflows.
+   */
+  private static final class MethodResultCache {
+
+    private final long timeToLiveNanos;
+
+    private final int maxSize;
+
+    private final ConcurrentMap<CacheKey, Entry> entries = new ConcurrentHashMap<>();
+
+    // may also hold replaced entries, which are skipped when polled
+    private final Queue<Entry> writeOrder = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger writeOrderSize = new AtomicInteger();
+
+    private MethodResultCache(long timeToLiveNanos, int maxSize) {
+      this.timeToLiveNanos = timeToLiveNanos;
+      this.maxSize = maxSize;
+    }
+
+    private Entry get(CacheKey key) {
+      var entry = this.entries.get(key);
+      if (entry != null && entry.isExpired()) {
+        this.entries.remove(key, entry);
+        return null;
+      }
+      return entry;
+    }
+
+    private void put(CacheKey key, Object value) {
+      var expiresAt = this.timeToLiveNanos > 0 ? System.nanoTime() + this.timeToLiveNanos : Long.MAX_VALUE;
+      var entry = new Entry(key, value, expiresAt);
+      this.entries.put(key, entry);
+      this.writeOrder.offer(entry);
+      this.writeOrderSize.incrementAndGet();
+      while (this.entries.size() > this.maxSize || this.writeOrderSize.get() > 2 * this.maxSize) {
+        var eldest = this.writeOrder.poll();
+        if (eldest == null) {
+          break;
+        }
+        this.writeOrderSize.decrementAndGet();
+        this.entries.remove(eldest.key, eldest);
+      }
+    }
+
+    private void clear() {
+      this.entries.clear();
+    }
+  }
+
+  private static final class Entry {
+
+    private final CacheKey key;
+
+    private final Object value;
+
+    private final long expiresAt;
+
+    private Entry(CacheKey key, Object value, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return this.expiresAt != Long.MAX_VALUE && System.nanoTime() - this.expiresAt > 0;
+    }
+  }
+
+}
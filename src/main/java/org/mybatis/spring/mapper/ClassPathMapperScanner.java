@@ -16,6 +16,7 @@
 package org.mybatis.spring.mapper;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,9 +39,11 @@ import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
 import org.springframework.core.NativeDetector;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
@@ -72,6 +75,10 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
 
   private boolean lazyInitialization;
 
+  private boolean deferredRegistration;
+
+  private boolean parallelRegistration;
+
   private boolean printWarnLogIfNotFoundMappers = true;
 
   private SqlSessionFactory sqlSessionFactory;
@@ -91,6 +98,8 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
   private String defaultScope;
   private List<TypeFilter> excludeFilters;
 
+  private ApplicationStartup applicationStartup;
+
   /**
    * Instantiates a new class path mapper scanner.
    *
@@ -103,6 +112,7 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
     super(registry, false, environment);
     setIncludeAnnotationConfig(!AotDetector.useGeneratedArtifacts());
     setPrintWarnLogIfNotFoundMappers(!NativeDetector.inNativeImage());
+    setApplicationStartup(getApplicationStartup(registry));
   }
 
   /**
@@ -118,6 +128,7 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
     super(registry, false);
     setIncludeAnnotationConfig(!AotDetector.useGeneratedArtifacts());
     setPrintWarnLogIfNotFoundMappers(!NativeDetector.inNativeImage());
+    setApplicationStartup(getApplicationStartup(registry));
   }
 
   /**
@@ -154,6 +165,42 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
     this.lazyInitialization = lazyInitialization;
   }
 
+  /**
+   * Set whether defer the addition of mappers to MyBatis until their first use.
+   * <p>
+   * Requires the {@code SqlSessionFactory} to use a {@code LazyMapperConfiguration}, for instance with
+   * {@code SqlSessionFactoryBean#setLazyMapperLocations(boolean)}. With another configuration the mappers are added at
+   * startup and a warning is logged.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @param deferredRegistration
+   *          Set the @{code true} to enable
+   *
+   * @see MapperFactoryBean#setDeferredRegistration(boolean)
+   *
+   * @since 4.1.1
+   */
+  public void setDeferredRegistration(boolean deferredRegistration) {
+    this.deferredRegistration = deferredRegistration;
+  }
+
+  /**
+   * Set whether prepare the scanned mappers in parallel before they are added to MyBatis.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @param parallelRegistration
+   *          Set the @{code true} to enable
+   *
+   * @see MapperFactoryBean#setMapperInterfaceGroup(java.util.Collection)
+   *
+   * @since 4.1.1
+   */
+  public void setParallelRegistration(boolean parallelRegistration) {
+    this.parallelRegistration = parallelRegistration;
+  }
+
   /**
    * Set whether print warning log if not found mappers that matches conditions.
    * <p>
@@ -267,6 +314,31 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
     this.defaultScope = defaultScope;
   }
 
+  /**
+   * Set the {@code ApplicationStartup} that records each scan as a {@code mybatis.mappers.scan} step, tagged with the
+   * scanned packages and the number of mappers found.
+   * <p>
+   * Default is the startup of the registry when it is a Spring bean factory or application context.
+   *
+   * @param applicationStartup
+   *          the application startup
+   *
+   * @since 4.1.1
+   */
+  public void setApplicationStartup(ApplicationStartup applicationStartup) {
+    this.applicationStartup = applicationStartup == null ? ApplicationStartup.DEFAULT : applicationStartup;
+  }
+
+  private static ApplicationStartup getApplicationStartup(BeanDefinitionRegistry registry) {
+    if (registry instanceof ConfigurableApplicationContext) {
+      return ((ConfigurableApplicationContext) registry).getApplicationStartup();
+    }
+    if (registry instanceof ConfigurableBeanFactory) {
+      return ((ConfigurableBeanFactory) registry).getApplicationStartup();
+    }
+    return ApplicationStartup.DEFAULT;
+  }
+
   /**
    * Configures parent scanner to search for the right interfaces. It can search for all interfaces or just for those
    * that extends a markerInterface or/and those annotated with the annotationClass
@@ -316,23 +388,36 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
    */
   @Override
   public Set<BeanDefinitionHolder> doScan(String... basePackages) {
-    var beanDefinitions = super.doScan(basePackages);
-
-    if (beanDefinitions.isEmpty()) {
-      if (printWarnLogIfNotFoundMappers) {
-        LOGGER.warn(() -> "No MyBatis mapper was found in '" + Arrays.toString(basePackages)
-            + "' package. Please check your configuration.");
+    var step = this.applicationStartup.start("mybatis.mappers.scan");
+    step.tag("packages", () -> Arrays.toString(basePackages));
+    var start = System.nanoTime();
+    try {
+      var beanDefinitions = super.doScan(basePackages);
+
+      if (beanDefinitions.isEmpty()) {
+        if (printWarnLogIfNotFoundMappers) {
+          LOGGER.warn(() -> "No MyBatis mapper was found in '" + Arrays.toString(basePackages)
+              + "' package. Please check your configuration.");
+        }
+      } else {
+        processBeanDefinitions(beanDefinitions);
       }
-    } else {
-      processBeanDefinitions(beanDefinitions);
-    }
 
-    return beanDefinitions;
+      step.tag("count", String.valueOf(beanDefinitions.size()));
+      var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+      LOGGER.debug(() -> "Scanned " + beanDefinitions.size() + " mappers in '" + Arrays.toString(basePackages)
+          + "' in " + elapsedMillis + " ms");
+      return beanDefinitions;
+    } finally {
+      step.end();
+    }
   }
 
   private void processBeanDefinitions(Set<BeanDefinitionHolder> beanDefinitions) {
     AbstractBeanDefinition definition;
     var registry = getRegistry();
+    // shared by all the scanned mappers, complete once their beans are created
+    List<String> mapperInterfaceGroup = this.parallelRegistration ? new ArrayList<>() : null;
     for (BeanDefinitionHolder holder : beanDefinitions) {
       definition = (AbstractBeanDefinition) holder.getBeanDefinition();
       var scopedProxy = false;
@@ -368,6 +453,13 @@ public class ClassPathMapperScanner extends ClassPathBeanDefinitionScanner {
       definition.setBeanClass(this.mapperFactoryBeanClass);
 
       definition.getPropertyValues().add("addToConfig", this.addToConfig);
+      if (this.deferredRegistration) {
+        definition.getPropertyValues().add("deferredRegistration", true);
+      }
+      if (mapperInterfaceGroup != null) {
+        mapperInterfaceGroup.add(beanClassName);
+        definition.getPropertyValues().add("mapperInterfaceGroup", mapperInterfaceGroup);
+      }
 
       var explicitFactoryUsed = false;
       if (StringUtils.hasText(this.sqlSessionFactoryBeanName)) {
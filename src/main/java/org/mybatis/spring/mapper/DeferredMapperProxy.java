@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Placeholder injected in place of a mapper whose registration is deferred. The mapper is registered and created by
+ * the first method call, which is then delegated to it like every following call.
+ *
+ * @param <T>
+ *          the mapper type
+ */
+final class DeferredMapperProxy<T> implements InvocationHandler {
+
+  private final Class<T> mapperInterface;
+
+  private final Supplier<T> mapperFactory;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile T mapper;
+
+  private DeferredMapperProxy(Class<T> mapperInterface, Supplier<T> mapperFactory) {
+    this.mapperInterface = mapperInterface;
+    this.mapperFactory = mapperFactory;
+  }
+
+  /**
+   * Creates a placeholder that obtains the mapper from the given factory on first use.
+   */
+  static <T> T newInstance(Class<T> mapperInterface, Supplier<T> mapperFactory) {
+    var handler = new DeferredMapperProxy<>(mapperInterface, mapperFactory);
+    return mapperInterface.cast(
+        Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class<?>[] { mapperInterface }, handler));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (Object.class.equals(method.getDeclaringClass())) {
+      return method.invoke(this, args);
+    }
+    try {
+      return method.invoke(getMapper(), args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  private T getMapper() {
+    var target = this.mapper;
+    if (target == null) {
+      this.lock.lock();
+      try {
+        target = this.mapper;
+        if (target == null) {
+          target = this.mapperFactory.get();
+          this.mapper = target;
+        }
+      } finally {
+        this.lock.unlock();
+      }
+    }
+    return target;
+  }
+
+  @Override
+  public String toString() {
+    return "Deferred proxy for mapper " + this.mapperInterface.getName();
+  }
+
+}
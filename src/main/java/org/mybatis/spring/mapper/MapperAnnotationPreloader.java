@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.session.Configuration;
+import org.mybatis.logging.Logger;
+import org.mybatis.logging.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Prepares a group of mapper interfaces in parallel before they are added to a {@link Configuration} one at a time.
+ * <p>
+ * Only the work whose result is kept is done here: loading the interfaces, and building the reflectors of the classes
+ * their methods take and return, which the {@code ReflectorFactory} of the configuration caches for the parsing and the
+ * first executions. The annotations are still parsed by {@code Configuration#addMapper(Class)}, which is not thread
+ * safe, one mapper at a time and in the order their beans are initialized.
+ */
+final class MapperAnnotationPreloader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MapperAnnotationPreloader.class);
+
+  private static final Map<Configuration, Set<String>> PRELOADED_MAPPERS = new ConcurrentReferenceHashMap<>(16,
+      ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+  private MapperAnnotationPreloader() {
+    // utility class
+  }
+
+  /**
+   * Prepares the mapper interfaces of the group that were not prepared yet for the given configuration.
+   */
+  static void preload(Configuration configuration, ClassLoader classLoader, Collection<String> mapperInterfaceNames) {
+    var preloaded = PRELOADED_MAPPERS.computeIfAbsent(configuration, key -> ConcurrentHashMap.newKeySet());
+    var start = System.nanoTime();
+    var count = mapperInterfaceNames.parallelStream().filter(preloaded::add)
+        .filter(name -> preload(configuration, classLoader, name)).count();
+    if (count > 0) {
+      var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+      LOGGER.debug(() -> "Preloaded " + count + " mappers in " + elapsedMillis + " ms");
+    }
+  }
+
+  private static boolean preload(Configuration configuration, ClassLoader classLoader, String mapperInterfaceName) {
+    try {
+      var mapperInterface = ClassUtils.forName(mapperInterfaceName, classLoader);
+      var reflectorFactory = configuration.getReflectorFactory();
+      for (Method method : mapperInterface.getMethods()) {
+        // same methods as MapperAnnotationBuilder
+        if (method.isBridge() || method.isDefault()) {
+          continue;
+        }
+        // type variables are left to the parsing, which resolves them against the mapper interface
+        preload(reflectorFactory, method.getGenericReturnType());
+        for (Type parameterType : method.getGenericParameterTypes()) {
+          preload(reflectorFactory, parameterType);
+        }
+      }
+      return true;
+    } catch (Throwable t) {
+      // the error, if any, is reported when the mapper is added to the configuration
+      LOGGER.debug(() -> "Could not preload mapper '" + mapperInterfaceName + "': " + t);
+      return false;
+    }
+  }
+
+  private static void preload(ReflectorFactory reflectorFactory, Type type) {
+    if (type instanceof Class) {
+      var clazz = (Class<?>) type;
+      if (clazz.isArray()) {
+        preload(reflectorFactory, clazz.getComponentType());
+      } else if (!clazz.isPrimitive() && !clazz.getName().startsWith("java.")) {
+        reflectorFactory.findForClass(clazz);
+      }
+    } else if (type instanceof ParameterizedType) {
+      for (Type argumentType : ((ParameterizedType) type).getActualTypeArguments()) {
+        preload(reflectorFactory, argumentType);
+      }
+    } else if (type instanceof GenericArrayType) {
+      preload(reflectorFactory, ((GenericArrayType) type).getGenericComponentType());
+    }
+  }
+
+}
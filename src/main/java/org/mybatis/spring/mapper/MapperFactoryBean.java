@@ -17,7 +17,14 @@ package org.mybatis.spring.mapper;
 
 import static org.springframework.util.Assert.notNull;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.session.Configuration;
+import org.mybatis.spring.LazyMapperConfiguration;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.support.SqlSessionDaoSupport;
 import org.springframework.beans.factory.FactoryBean;
@@ -55,10 +62,18 @@ import org.springframework.beans.factory.FactoryBean;
  */
 public class MapperFactoryBean<T> extends SqlSessionDaoSupport implements FactoryBean<T> {
 
+  // configurations already warned about a deferred registration they cannot honor
+  private static final Map<Configuration, Boolean> EAGER_CONFIGURATIONS = Collections
+      .synchronizedMap(new WeakHashMap<>());
+
   private Class<T> mapperInterface;
 
   private boolean addToConfig = true;
 
+  private boolean deferredRegistration;
+
+  private Collection<String> mapperInterfaceGroup;
+
   /**
    * Instantiates a new mapper factory bean.
    */
@@ -84,20 +99,67 @@ public class MapperFactoryBean<T> extends SqlSessionDaoSupport implements Factor
 
     var configuration = getSqlSession().getConfiguration();
     if (this.addToConfig && !configuration.hasMapper(this.mapperInterface)) {
-      try {
+      if (isRegistrationDeferred(configuration)) {
+        ((LazyMapperConfiguration) configuration).deferMapper(this.mapperInterface);
+        return;
+      }
+      if (this.deferredRegistration && EAGER_CONFIGURATIONS.putIfAbsent(configuration, Boolean.TRUE) == null) {
+        logger.warn("Mapper registration cannot be deferred with a " + configuration.getClass().getName()
+            + ", which does not guard its lookups while a mapper is added: mappers are added at startup."
+            + " Use a LazyMapperConfiguration, for instance with SqlSessionFactoryBean#setLazyMapperLocations(true).");
+      }
+      if (this.mapperInterfaceGroup != null) {
+        MapperAnnotationPreloader.preload(configuration, this.mapperInterface.getClassLoader(),
+            this.mapperInterfaceGroup);
+      }
+      addMapper(configuration);
+    }
+  }
+
+  private boolean isRegistrationDeferred(Configuration configuration) {
+    // only a lazy configuration guards its lookups while a mapper is added at runtime
+    return this.deferredRegistration && configuration instanceof LazyMapperConfiguration;
+  }
+
+  private void addMapper(Configuration configuration) {
+    try {
+      if (isRegistrationDeferred(configuration)) {
+        ((LazyMapperConfiguration) configuration).addDeferredMapper(this.mapperInterface);
+      } else {
         configuration.addMapper(this.mapperInterface);
-      } catch (Exception e) {
-        logger.error("Error while adding the mapper '" + this.mapperInterface + "' to configuration.", e);
-        throw new IllegalArgumentException(e);
-      } finally {
-        ErrorContext.instance().reset();
       }
+    } catch (Exception e) {
+      logger.error("Error while adding the mapper '" + this.mapperInterface + "' to configuration.", e);
+      throw new IllegalArgumentException(e);
+    } finally {
+      ErrorContext.instance().reset();
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Methods annotated with {@link org.mybatis.spring.annotation.MapperCacheable} or
+   * {@link org.mybatis.spring.annotation.MapperCacheEvict} get their results cached or evicted by a proxy around the
+   * MyBatis mapper.
+   * <p>
+   * When the registration is deferred and the mapper is not registered yet, a placeholder is returned that registers
+   * the mapper on its first method call.
+   */
   @Override
   public T getObject() throws Exception {
-    return getSqlSession().getMapper(this.mapperInterface);
+    var configuration = getSqlSession().getConfiguration();
+    if (this.addToConfig && isRegistrationDeferred(configuration) && !configuration.hasMapper(this.mapperInterface)) {
+      return DeferredMapperProxy.newInstance(this.mapperInterface, () -> {
+        addMapper(configuration);
+        return createMapper();
+      });
+    }
+    return createMapper();
+  }
+
+  private T createMapper() {
+    return CachingMapperProxy.wrapIfNecessary(this.mapperInterface, getSqlSession().getMapper(this.mapperInterface));
   }
 
   @Override
@@ -154,4 +216,67 @@ public class MapperFactoryBean<T> extends SqlSessionDaoSupport implements Factor
   public boolean isAddToConfig() {
     return addToConfig;
   }
+
+  /**
+   * If deferredRegistration is true the mapper is not added to MyBatis while this bean is initialized but on the first
+   * call of one of its methods, so parsing its annotations does not slow down the startup. The mapper bean itself is
+   * still created and injected eagerly, as a lightweight placeholder.
+   * <p>
+   * The statements of a deferred mapper are neither checked by {@code SqlSessionFactoryBean#setFailFast(boolean)} nor
+   * available by id until the mapper is used for the first time.
+   * <p>
+   * Requires the MyBatis {@code Configuration} to be a {@link LazyMapperConfiguration}, which adds the mapper under the
+   * lock guarding its lookups, for instance with {@code SqlSessionFactoryBean#setLazyMapperLocations(boolean)}. With
+   * another configuration the mapper is added while this bean is initialized, as if the registration was not deferred,
+   * and a warning is logged once per configuration.
+   * <p>
+   * By default deferredRegistration is false. It has no effect when addToConfig is false.
+   *
+   * @param deferredRegistration
+   *          a flag that whether defer the addition of the mapper to MyBatis until its first use or not
+   *
+   * @since 4.1.1
+   */
+  public void setDeferredRegistration(boolean deferredRegistration) {
+    this.deferredRegistration = deferredRegistration;
+  }
+
+  /**
+   * Return the flag for deferred addition into MyBatis config.
+   *
+   * @return true if the mapper will be added to MyBatis on its first use
+   *
+   * @since 4.1.1
+   */
+  public boolean isDeferredRegistration() {
+    return deferredRegistration;
+  }
+
+  /**
+   * Sets the names of the mapper interfaces added to MyBatis together with this one, usually all the mappers found by
+   * the same scan. The first bean of the group to be initialized prepares all of them in parallel (class loading and
+   * reflectors of their parameter and result types), then every bean adds its own mapper to MyBatis, parsing its
+   * annotations, one after the other, as without a group.
+   * <p>
+   * By default no group is set. It has no effect when addToConfig is false or the registration is deferred.
+   *
+   * @param mapperInterfaceGroup
+   *          the fully qualified names of the mapper interfaces of the group
+   *
+   * @since 4.1.1
+   */
+  public void setMapperInterfaceGroup(Collection<String> mapperInterfaceGroup) {
+    this.mapperInterfaceGroup = mapperInterfaceGroup;
+  }
+
+  /**
+   * Return the names of the mapper interfaces added to MyBatis together with this one.
+   *
+   * @return the fully qualified names of the mapper interfaces of the group, {@code null} if not set
+   *
+   * @since 4.1.1
+   */
+  public Collection<String> getMapperInterfaceGroup() {
+    return mapperInterfaceGroup;
+  }
 }
@@ -107,6 +107,10 @@ public class MapperScannerConfigurer
 
   private String lazyInitialization;
 
+  private String deferredRegistration;
+
+  private String parallelRegistration;
+
   private SqlSessionFactory sqlSessionFactory;
 
   private SqlSessionTemplate sqlSessionTemplate;
@@ -175,6 +179,42 @@ public class MapperScannerConfigurer
     this.lazyInitialization = lazyInitialization;
   }
 
+  /**
+   * Set whether defer the addition of mappers to MyBatis until their first use.
+   * <p>
+   * Requires the {@code SqlSessionFactory} to use a {@code LazyMapperConfiguration}, for instance with
+   * {@code SqlSessionFactoryBean#setLazyMapperLocations(boolean)}. With another configuration the mappers are added at
+   * startup and a warning is logged.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @param deferredRegistration
+   *          Set the @{code true} to enable
+   *
+   * @see MapperFactoryBean#setDeferredRegistration(boolean)
+   *
+   * @since 4.1.1
+   */
+  public void setDeferredRegistration(String deferredRegistration) {
+    this.deferredRegistration = deferredRegistration;
+  }
+
+  /**
+   * Set whether prepare the scanned mappers in parallel before they are added to MyBatis.
+   * <p>
+   * Default is {@code false}.
+   *
+   * @param parallelRegistration
+   *          Set the @{code true} to enable
+   *
+   * @see MapperFactoryBean#setMapperInterfaceGroup(java.util.Collection)
+   *
+   * @since 4.1.1
+   */
+  public void setParallelRegistration(String parallelRegistration) {
+    this.parallelRegistration = parallelRegistration;
+  }
+
   /**
    * This property specifies the annotation that the scanner will search for.
    * <p>
@@ -400,6 +440,12 @@ public class MapperScannerConfigurer
     if (StringUtils.hasText(lazyInitialization)) {
       scanner.setLazyInitialization(Boolean.parseBoolean(lazyInitialization));
     }
+    if (StringUtils.hasText(deferredRegistration)) {
+      scanner.setDeferredRegistration(Boolean.parseBoolean(deferredRegistration));
+    }
+    if (StringUtils.hasText(parallelRegistration)) {
+      scanner.setParallelRegistration(Boolean.parseBoolean(parallelRegistration));
+    }
     if (StringUtils.hasText(defaultScope)) {
       scanner.setDefaultScope(defaultScope);
     }
@@ -438,6 +484,8 @@ public class MapperScannerConfigurer
       this.sqlSessionFactoryBeanName = getPropertyValue("sqlSessionFactoryBeanName", values);
       this.sqlSessionTemplateBeanName = getPropertyValue("sqlSessionTemplateBeanName", values);
       this.lazyInitialization = getPropertyValue("lazyInitialization", values);
+      this.deferredRegistration = getPropertyValue("deferredRegistration", values);
+      this.parallelRegistration = getPropertyValue("parallelRegistration", values);
       this.defaultScope = getPropertyValue("defaultScope", values);
       this.rawExcludeFilters = getPropertyValueForTypeFilter("rawExcludeFilters", values);
     }
@@ -448,6 +496,10 @@ public class MapperScannerConfigurer
         .map(getEnvironment()::resolvePlaceholders).orElse(null);
     this.lazyInitialization = Optional.ofNullable(this.lazyInitialization).map(getEnvironment()::resolvePlaceholders)
         .orElse(null);
+    this.deferredRegistration = Optional.ofNullable(this.deferredRegistration)
+        .map(getEnvironment()::resolvePlaceholders).orElse(null);
+    this.parallelRegistration = Optional.ofNullable(this.parallelRegistration)
+        .map(getEnvironment()::resolvePlaceholders).orElse(null);
     this.defaultScope = Optional.ofNullable(this.defaultScope).map(getEnvironment()::resolvePlaceholders).orElse(null);
   }
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.reactive;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link MapperFactoryBean} for mapper interfaces that declare {@link Mono} or {@link Flux} return types. Reactive
+ * methods are executed on a {@link Scheduler} so the blocking JDBC work never runs on an event loop thread:
+ * <ul>
+ * <li>{@code Mono<T>} methods run the statement with {@code selectOne}, {@code selectList} (when {@code T} is a
+ * collection), {@code insert}, {@code update} or {@code delete} and emit the result. A {@code null} result completes
+ * the {@code Mono} empty.</li>
+ * <li>{@code Flux<T>} methods run a select statement through {@code SqlSessionTemplate#selectStream} and fetch rows
+ * only as they are requested by the subscriber. The stream, its cursor and its {@code SqlSession} are closed when the
+ * {@code Flux} completes, fails or is cancelled.</li>
+ * </ul>
+ * Other methods are delegated to the regular MyBatis mapper. Reactive methods run outside of any Spring transaction
+ * bound to the calling thread and their errors are translated to {@code DataAccessException}s like the ones thrown by
+ * {@code SqlSessionTemplate}.
+ * <p>
+ * Statements are looked up like MyBatis does for regular mappers: in the namespace of the mapper first, then in the
+ * namespaces of the parent interfaces that inherit the method.
+ * <p>
+ * Statements of reactive methods must be declared in XML, or use {@code @ResultMap}, because MyBatis takes the return
+ * type of an annotated method as its result type.
+ * <p>
+ * To register every scanned mapper with this factory bean:
+ *
+ * <pre class="code">
+ * {@code
+ * &#64;MapperScan(basePackages = "org.example.mapper", factoryBean = ReactiveMapperFactoryBean.class)
+ * }
+ * </pre>
+ *
+ * When mappers are autowired by type (no {@code sqlSessionFactoryRef} or {@code sqlSessionTemplateRef} given), a
+ * single {@link Scheduler} bean is picked up as well. {@link Schedulers#boundedElastic()} is used otherwise.
+ *
+ * @param <T>
+ *          the generic type
+ *
+ * @see MapperFactoryBean
+ *
+ * @since 4.1.1
+ */
+public class ReactiveMapperFactoryBean<T> extends MapperFactoryBean<T> {
+
+  private Scheduler scheduler;
+
+  /**
+   * Instantiates a new reactive mapper factory bean.
+   */
+  public ReactiveMapperFactoryBean() {
+    // intentionally empty
+  }
+
+  /**
+   * Instantiates a new reactive mapper factory bean.
+   *
+   * @param mapperInterface
+   *          the mapper interface
+   */
+  public ReactiveMapperFactoryBean(Class<T> mapperInterface) {
+    super(mapperInterface);
+  }
+
+  @Override
+  public T getObject() throws Exception {
+    var mapper = super.getObject();
+    if (!ReactiveMapperProxy.isReactive(getMapperInterface())) {
+      return mapper;
+    }
+    var scheduler = this.scheduler == null ? Schedulers.boundedElastic() : this.scheduler;
+    return ReactiveMapperProxy.newInstance(getMapperInterface(), mapper, getSqlSessionTemplate(), scheduler);
+  }
+
+  /**
+   * Sets the scheduler that runs the statements of reactive methods.
+   *
+   * @param scheduler
+   *          a scheduler, {@code null} to use {@link Schedulers#boundedElastic()}
+   */
+  public void setScheduler(Scheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Gets the scheduler that runs the statements of reactive methods.
+   *
+   * @return the scheduler, {@code null} when {@link Schedulers#boundedElastic()} is used
+   */
+  public Scheduler getScheduler() {
+    return this.scheduler;
+  }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.reactive;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.annotations.Flush;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.mybatis.spring.SqlSessionTemplate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Invocation handler behind the mappers created by {@link ReactiveMapperFactoryBean}.
+ *
+ * @param <T>
+ *          the mapper type
+ */
+final class ReactiveMapperProxy<T> implements InvocationHandler {
+
+  private final Class<T> mapperInterface;
+
+  private final T mapper;
+
+  private final SqlSessionTemplate sqlSessionTemplate;
+
+  private final Scheduler scheduler;
+
+  private final Map<Method, ReactiveMethod> methodCache = new ConcurrentHashMap<>();
+
+  private ReactiveMapperProxy(Class<T> mapperInterface, T mapper, SqlSessionTemplate sqlSessionTemplate,
+      Scheduler scheduler) {
+    this.mapperInterface = mapperInterface;
+    this.mapper = mapper;
+    this.sqlSessionTemplate = sqlSessionTemplate;
+    this.scheduler = scheduler;
+  }
+
+  static <T> T newInstance(Class<T> mapperInterface, T mapper, SqlSessionTemplate sqlSessionTemplate,
+      Scheduler scheduler) {
+    var handler = new ReactiveMapperProxy<>(mapperInterface, mapper, sqlSessionTemplate, scheduler);
+    return mapperInterface.cast(
+        Proxy.newProxyInstance(mapperInterface.getClassLoader(), new Class<?>[] { mapperInterface }, handler));
+  }
+
+  static boolean isReactive(Class<?> mapperInterface) {
+    for (Method method : mapperInterface.getMethods()) {
+      if (!method.isDefault() && isReactive(method)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isReactive(Method method) {
+    return Mono.class.equals(method.getReturnType()) || Flux.class.equals(method.getReturnType());
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (Object.class.equals(method.getDeclaringClass())) {
+      return method.invoke(this, args);
+    }
+    if (method.isDefault()) {
+      return InvocationHandler.invokeDefault(proxy, method, args);
+    }
+    if (isReactive(method)) {
+      return this.methodCache.computeIfAbsent(method, ReactiveMethod::new).execute(args);
+    }
+    try {
+      return method.invoke(this.mapper, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Reactive proxy for mapper " + this.mapperInterface.getName();
+  }
+
+  private final class ReactiveMethod {
+
+    private final String statementId;
+
+    private final SqlCommandType commandType;
+
+    private final boolean many;
+
+    private final Class<?> elementType;
+
+    private final ParamNameResolver paramNameResolver;
+
+    private ReactiveMethod(Method method) {
+      var configuration = sqlSessionTemplate.getConfiguration();
+      this.many = Flux.class.equals(method.getReturnType());
+      this.elementType = resolveElementType(method.getGenericReturnType());
+      this.paramNameResolver = new ParamNameResolver(configuration, method);
+      if (method.isAnnotationPresent(Flush.class)) {
+        this.statementId = null;
+        this.commandType = SqlCommandType.FLUSH;
+      } else {
+        this.statementId = resolveStatementId(configuration, method);
+        this.commandType = configuration.getMappedStatement(this.statementId).getSqlCommandType();
+      }
+      if (this.many && this.commandType != SqlCommandType.SELECT) {
+        throw new BindingException(
+            "Mapper method '" + method + "' returns a Flux but is not bound to a select statement");
+      }
+      if ((this.commandType == SqlCommandType.INSERT || this.commandType == SqlCommandType.UPDATE
+          || this.commandType == SqlCommandType.DELETE) && !isRowCountType(this.elementType)) {
+        throw new BindingException("Mapper method '" + method + "' has an unsupported return type: Mono<"
+            + this.elementType.getName() + ">");
+      }
+    }
+
+    private Object execute(Object[] args) {
+      var parameter = this.paramNameResolver.getNamedParams(args);
+      if (this.many) {
+        // the stream keeps its session open and pulls one row from the cursor per element requested downstream
+        return Flux.fromStream(() -> sqlSessionTemplate.selectStream(this.statementId, parameter))
+            .subscribeOn(scheduler);
+      }
+      return Mono.fromCallable(() -> executeStatement(parameter)).subscribeOn(scheduler);
+    }
+
+    private Object executeStatement(Object parameter) {
+      switch (this.commandType) {
+        case SELECT:
+          if (Collection.class.isAssignableFrom(this.elementType)) {
+            return sqlSessionTemplate.selectList(this.statementId, parameter);
+          }
+          return sqlSessionTemplate.selectOne(this.statementId, parameter);
+        case INSERT:
+          return rowCountResult(sqlSessionTemplate.insert(this.statementId, parameter));
+        case UPDATE:
+          return rowCountResult(sqlSessionTemplate.update(this.statementId, parameter));
+        case DELETE:
+          return rowCountResult(sqlSessionTemplate.delete(this.statementId, parameter));
+        case FLUSH:
+          return sqlSessionTemplate.flushStatements();
+        default:
+          throw new BindingException("Unknown execution method for: " + this.statementId);
+      }
+    }
+
+    private Object rowCountResult(int rowCount) {
+      if (Void.class.equals(this.elementType)) {
+        return null;
+      }
+      if (Long.class.equals(this.elementType)) {
+        return (long) rowCount;
+      }
+      if (Boolean.class.equals(this.elementType)) {
+        return rowCount > 0;
+      }
+      return rowCount;
+    }
+
+  }
+
+  private String resolveStatementId(Configuration configuration, Method method) {
+    var statementId = resolveStatementId(configuration, this.mapperInterface, method.getName(),
+        method.getDeclaringClass());
+    if (statementId == null) {
+      throw new BindingException(
+          "Invalid bound statement (not found): " + this.mapperInterface.getName() + "." + method.getName());
+    }
+    return statementId;
+  }
+
+  // same lookup as MapperMethod: the mapper first, then the parents that inherit the method, closest first
+  private static String resolveStatementId(Configuration configuration, Class<?> mapperInterface, String methodName,
+      Class<?> declaringClass) {
+    var statementId = mapperInterface.getName() + "." + methodName;
+    if (configuration.hasStatement(statementId)) {
+      return statementId;
+    }
+    if (mapperInterface.equals(declaringClass)) {
+      return null;
+    }
+    for (Class<?> superInterface : mapperInterface.getInterfaces()) {
+      if (declaringClass.isAssignableFrom(superInterface)) {
+        var superStatementId = resolveStatementId(configuration, superInterface, methodName, declaringClass);
+        if (superStatementId != null) {
+          return superStatementId;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static Class<?> resolveElementType(Type returnType) {
+    if (returnType instanceof ParameterizedType) {
+      var elementType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+      if (elementType instanceof Class) {
+        return (Class<?>) elementType;
+      }
+      if (elementType instanceof ParameterizedType) {
+        return (Class<?>) ((ParameterizedType) elementType).getRawType();
+      }
+    }
+    return Object.class;
+  }
+
+  private static boolean isRowCountType(Class<?> type) {
+    return Object.class.equals(type) || Integer.class.equals(type) || Long.class.equals(type)
+        || Boolean.class.equals(type) || Void.class.equals(type);
+  }
+
+}
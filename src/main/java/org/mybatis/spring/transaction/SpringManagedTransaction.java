@@ -110,6 +110,8 @@ public class SpringManagedTransaction implements Transaction {
   @Override
   public void close() throws SQLException {
     DataSourceUtils.releaseConnection(this.connection, this.dataSource);
+    // a pooled SqlSession reopens a connection on its next use
+    this.connection = null;
   }
 
   @Override
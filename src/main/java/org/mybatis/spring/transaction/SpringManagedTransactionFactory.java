@@ -26,6 +26,9 @@ import org.apache.ibatis.transaction.TransactionFactory;
 
 /**
  * Creates a {@code SpringManagedTransaction}.
+ * <p>
+ * The created transactions do not cache {@code PreparedStatement}s: use {@code ExecutorType.REUSE} to reuse them
+ * within a session, and the statement cache of the JDBC driver or connection pool to reuse them across transactions.
  *
  * @author Hunter Presnall
  */
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+
+class AsyncSqlSessionTemplateTest extends AbstractMyBatisSpringTest {
+
+  @AfterEach
+  void tearDown() {
+    try {
+      connection.close();
+    } catch (SQLException ignored) {
+    }
+  }
+
+  @Test
+  void testSelectOne() {
+    var asyncTemplate = new AsyncSqlSessionTemplate(sqlSessionFactory, Runnable::run);
+
+    Integer result = asyncTemplate.<Integer> selectOne("org.mybatis.spring.TestMapper.findTest").join();
+
+    assertThat(result).isEqualTo(1);
+    assertCommit();
+    assertSingleConnection();
+  }
+
+  @Test
+  void testExecuteWithMapper() {
+    var asyncTemplate = new AsyncSqlSessionTemplate(sqlSessionFactory, Runnable::run);
+
+    var result = asyncTemplate.execute(session -> session.getMapper(TestMapper.class).findTest()).join();
+
+    assertThat(result).isEqualTo(1);
+    assertCommit();
+  }
+
+  @Test
+  void testExceptionTranslation() {
+    connection.getPreparedStatementResultSetHandler().prepareThrowsSQLException("SELECT 'fail'");
+    var asyncTemplate = new AsyncSqlSessionTemplate(sqlSessionFactory, Runnable::run);
+
+    var future = asyncTemplate.selectOne("org.mybatis.spring.TestMapper.findFail");
+
+    assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(DataAccessException.class);
+  }
+
+  @Test
+  void testMaxConcurrency() {
+    List<Runnable> tasks = new ArrayList<>();
+    var asyncTemplate = new AsyncSqlSessionTemplate(new SqlSessionTemplate(sqlSessionFactory), tasks::add, 1);
+
+    var first = asyncTemplate.execute(session -> "first");
+    var second = asyncTemplate.execute(session -> "second");
+
+    assertThat(tasks).hasSize(1);
+    assertThat(asyncTemplate.getPendingCount()).isEqualTo(1);
+
+    tasks.remove(0).run();
+
+    assertThat(first).isCompletedWithValue("first");
+    assertThat(second).isNotDone();
+    assertThat(tasks).hasSize(1);
+    assertThat(asyncTemplate.getPendingCount()).isZero();
+
+    tasks.remove(0).run();
+
+    assertThat(second).isCompletedWithValue("second");
+    assertThat(tasks).isEmpty();
+  }
+
+  @Test
+  void testRejectedExecutionReleasesPermit() {
+    var asyncTemplate = new AsyncSqlSessionTemplate(new SqlSessionTemplate(sqlSessionFactory), task -> {
+      throw new RejectedExecutionException("rejected");
+    }, 1);
+
+    var first = asyncTemplate.execute(session -> "first");
+    var second = asyncTemplate.execute(session -> "second");
+
+    assertThat(first).isCompletedExceptionally();
+    assertThat(second).isCompletedExceptionally();
+    assertThat(asyncTemplate.getPendingCount()).isZero();
+  }
+
+}
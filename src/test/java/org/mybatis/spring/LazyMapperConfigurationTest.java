@@ -0,0 +1,234 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class LazyMapperConfigurationTest {
+
+  private static final String USER_NAMESPACE = "org.mybatis.spring.lazy.LazyUserMapper";
+
+  private static final String QUERY_NAMESPACE = "org.mybatis.spring.lazy.LazyUserQueryMapper";
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionFactoryBean factoryBean;
+
+  @BeforeEach
+  void setUp() {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    this.factoryBean = new SqlSessionFactoryBean();
+    this.factoryBean.setDataSource(this.dataSource);
+    this.factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/lazy/LazyUserMapper.xml"),
+        new ClassPathResource("org/mybatis/spring/lazy/LazyUserQueryMapper.xml"));
+    this.factoryBean.setLazyMapperLocations(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.factoryBean.stop();
+    this.dataSource.shutdown();
+  }
+
+  @Test
+  void testMapperFilesAreOnlyIndexed() throws Exception {
+    var configuration = (LazyMapperConfiguration) this.factoryBean.getObject().getConfiguration();
+
+    assertThat(configuration.getPendingNamespaces()).containsExactlyInAnyOrder(USER_NAMESPACE, QUERY_NAMESPACE);
+    assertThat(configuration.isResourceLoaded("namespace:" + USER_NAMESPACE)).isTrue();
+  }
+
+  @Test
+  void testNamespaceIsParsedOnFirstUse() throws Exception {
+    var sqlSessionFactory = this.factoryBean.getObject();
+    var configuration = (LazyMapperConfiguration) sqlSessionFactory.getConfiguration();
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    User user = template.selectOne(USER_NAMESPACE + ".getUser", "u1");
+
+    assertThat(user.getName()).isEqualTo("Pocoyo");
+    assertThat(configuration.getPendingNamespaces()).containsExactly(QUERY_NAMESPACE);
+  }
+
+  @Test
+  void testReferencedNamespaceIsParsedFirst() throws Exception {
+    var sqlSessionFactory = this.factoryBean.getObject();
+    var configuration = (LazyMapperConfiguration) sqlSessionFactory.getConfiguration();
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    List<User> users = template.selectList(QUERY_NAMESPACE + ".getUsers");
+
+    assertThat(users).extracting(User::getName).startsWith("Pocoyo", "Pato");
+    assertThat(configuration.getPendingNamespaces()).isEmpty();
+  }
+
+  @Test
+  void testShortStatementId() throws Exception {
+    var configuration = (LazyMapperConfiguration) this.factoryBean.getObject().getConfiguration();
+
+    assertThat(configuration.hasStatement("getUsers")).isTrue();
+    assertThat(configuration.getPendingNamespaces()).isEmpty();
+  }
+
+  @Test
+  void testLoadAllMappers() throws Exception {
+    var configuration = (LazyMapperConfiguration) this.factoryBean.getObject().getConfiguration();
+
+    assertThat(configuration.getMappedStatementNames()).contains(USER_NAMESPACE + ".getUser",
+        QUERY_NAMESPACE + ".getUsers");
+    assertThat(configuration.getPendingNamespaces()).isEmpty();
+  }
+
+  @Test
+  void testLoadListenersRunBeforeLookupsSeeTheNamespace() throws Exception {
+    var configuration = (LazyMapperConfiguration) this.factoryBean.getObject().getConfiguration();
+    List<Boolean> lookupBlocked = new ArrayList<>();
+    configuration.addLoadListener(namespace -> {
+      if (USER_NAMESPACE.equals(namespace)) {
+        var lookup = new Thread(() -> configuration.getMappedStatement(USER_NAMESPACE + ".getUser"));
+        lookup.start();
+        try {
+          lookup.join(200);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        lookupBlocked.add(lookup.isAlive());
+      }
+    });
+
+    configuration.getMappedStatement(USER_NAMESPACE + ".getUser");
+
+    assertThat(lookupBlocked).containsExactly(true);
+  }
+
+  @Test
+  void testFailFastWithoutExecutorParsesRemainingFilesOnRefresh() throws Exception {
+    this.factoryBean.setFailFast(true);
+    var configuration = (LazyMapperConfiguration) this.factoryBean.getObject().getConfiguration();
+
+    try (var context = new GenericApplicationContext()) {
+      context.refresh();
+      this.factoryBean.onApplicationEvent(new ContextRefreshedEvent(context));
+    }
+
+    assertThat(configuration.getPendingNamespaces()).isEmpty();
+  }
+
+  @Test
+  void testRequiresLazyMapperConfiguration() {
+    this.factoryBean.setConfiguration(new Configuration());
+
+    assertThatThrownBy(this.factoryBean::getObject).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void testReloadChangedMapperFile(@TempDir Path directory) throws Exception {
+    var mapperFile = copyMapperFiles(directory);
+    var sqlSessionFactory = this.factoryBean.getObject();
+    var configuration = (LazyMapperConfiguration) sqlSessionFactory.getConfiguration();
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    assertThat(configuration.isReloadable()).isTrue();
+    assertThat(configuration.getPendingNamespaces()).isEmpty();
+    assertThat(template.<User> selectOne(USER_NAMESPACE + ".getUser", "u1").getName()).isEqualTo("Pocoyo");
+
+    replace(mapperFile, "select <include refid=\"columns\"/> from users", "select id, upper(name) as name from users");
+    configuration.reloadMapperLocation(new FileSystemResource(mapperFile));
+
+    assertThat(template.<User> selectOne(USER_NAMESPACE + ".getUser", "u1").getName()).isEqualTo("POCOYO");
+    assertThat(template.<User> selectList(QUERY_NAMESPACE + ".getUsers")).extracting(User::getName)
+        .startsWith("Pocoyo", "Pato");
+  }
+
+  @Test
+  void testReloadFailureKeepsPreviousVersion(@TempDir Path directory) throws Exception {
+    var mapperFile = copyMapperFiles(directory);
+    var sqlSessionFactory = this.factoryBean.getObject();
+    var configuration = (LazyMapperConfiguration) sqlSessionFactory.getConfiguration();
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    replace(mapperFile, "resultMap=\"userResult\"", "resultType=\"NoSuchType\"");
+
+    assertThatThrownBy(() -> configuration.reloadMapperLocation(new FileSystemResource(mapperFile)))
+        .isInstanceOf(BuilderException.class);
+    assertThat(template.<User> selectOne(USER_NAMESPACE + ".getUser", "u1").getName()).isEqualTo("Pocoyo");
+    assertThat(configuration.hasResultMap(USER_NAMESPACE + ".userResult")).isTrue();
+  }
+
+  @Test
+  void testWatcherReloadsChangedMapperFile(@TempDir Path directory) throws Exception {
+    var mapperFile = copyMapperFiles(directory);
+    var configuration = this.factoryBean.getObject().getConfiguration();
+
+    replace(mapperFile, "select <include refid=\"columns\"/> from users", "select id, upper(name) as name from users");
+
+    var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+    while (!configuration.getMappedStatement(USER_NAMESPACE + ".getUser").getBoundSql("u1").getSql().contains("upper")
+        && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(configuration.getMappedStatement(USER_NAMESPACE + ".getUser").getBoundSql("u1").getSql())
+        .contains("upper");
+  }
+
+  private Path copyMapperFiles(Path directory) throws Exception {
+    var userMapper = directory.resolve("LazyUserMapper.xml");
+    var queryMapper = directory.resolve("LazyUserQueryMapper.xml");
+    try (var inputStream = new ClassPathResource("org/mybatis/spring/lazy/LazyUserMapper.xml").getInputStream()) {
+      Files.copy(inputStream, userMapper);
+    }
+    try (var inputStream = new ClassPathResource("org/mybatis/spring/lazy/LazyUserQueryMapper.xml").getInputStream()) {
+      Files.copy(inputStream, queryMapper);
+    }
+    this.factoryBean.setMapperLocations(new FileSystemResource(userMapper), new FileSystemResource(queryMapper));
+    this.factoryBean.setLazyMapperLocations(false);
+    this.factoryBean.setWatchMapperLocations(true);
+    return userMapper;
+  }
+
+  private static void replace(Path file, String target, String replacement) throws Exception {
+    var content = Files.readString(file, StandardCharsets.UTF_8);
+    assertThat(content).contains(target);
+    Files.writeString(file, content.replace(target, replacement), StandardCharsets.UTF_8);
+  }
+
+}
@@ -39,6 +39,7 @@ import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.jta.JtaTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 class MyBatisSpringTest extends AbstractMyBatisSpringTest {
 
@@ -243,6 +244,38 @@ class MyBatisSpringTest extends AbstractMyBatisSpringTest {
     }
   }
 
+  @Test
+  void testAllowedChangeExecutorTypeInTx() {
+    setupBatchStatements();
+    var status = txManager.getTransaction(new DefaultTransactionDefinition());
+
+    var batchSession = SqlSessionUtils.getSqlSession(sqlSessionFactory, ExecutorType.BATCH, exceptionTranslator);
+    batchSession.getMapper(TestMapper.class).insertTest("test1");
+    batchSession.getMapper(TestMapper.class).insertTest("test2");
+    SqlSessionUtils.closeSqlSession(batchSession, sqlSessionFactory);
+
+    assertExecuteCount(0);
+
+    session = SqlSessionUtils.getSqlSession(sqlSessionFactory, ExecutorType.SIMPLE, exceptionTranslator, true);
+
+    // pending batch statements are flushed before another executor is used
+    assertExecuteCount(2);
+    assertThat(session).isNotSameAs(batchSession);
+    assertThat(SqlSessionUtils.isSqlSessionTransactional(session, sqlSessionFactory)).isTrue();
+    assertThat(SqlSessionUtils.getSqlSession(sqlSessionFactory, ExecutorType.BATCH, exceptionTranslator, true))
+        .isSameAs(batchSession);
+    SqlSessionUtils.closeSqlSession(batchSession, sqlSessionFactory);
+
+    session.getMapper(TestMapper.class).findTest();
+    SqlSessionUtils.closeSqlSession(session, sqlSessionFactory);
+
+    txManager.commit(status);
+
+    assertCommitJdbc();
+    assertSingleConnection();
+    assertExecuteCount(3);
+  }
+
   @Test
   void testChangeExecutorTypeInTxRequiresNew() throws Exception {
 
@@ -555,6 +588,31 @@ class MyBatisSpringTest extends AbstractMyBatisSpringTest {
     assertExecuteCount(3);
   }
 
+  @Test
+  void testBatchInTxWithFlushThreshold() {
+    setupBatchStatements();
+    var template = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    template.setBatchFlushThreshold(2);
+
+    var status = txManager.getTransaction(new DefaultTransactionDefinition());
+
+    template.getMapper(TestMapper.class).insertTest("test1");
+    assertExecuteCount(0);
+    template.getMapper(TestMapper.class).insertTest("test2");
+    assertExecuteCount(2);
+    template.getMapper(TestMapper.class).insertTest("test3");
+    assertExecuteCount(2);
+
+    var holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sqlSessionFactory);
+    assertThat(holder.getBatchStatementCount()).isEqualTo(2);
+
+    txManager.commit(status);
+
+    assertCommitJdbc();
+    assertSingleConnection();
+    assertExecuteCount(3);
+  }
+
   @Test
   void testBatchWithError() {
     try {
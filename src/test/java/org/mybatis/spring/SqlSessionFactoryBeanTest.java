@@ -22,11 +22,19 @@ import com.mockrunner.mock.jdbc.MockDataSource;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -55,14 +63,25 @@ import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeException;
 import org.apache.ibatis.type.TypeHandler;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
 import org.mybatis.core.jdk.type.AtomicNumberTypeHandler;
+import org.mybatis.spring.scan.ScanClass1;
+import org.mybatis.spring.scan.ScanEnum;
 import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
 import org.mybatis.spring.type.DummyTypeAlias;
+import org.mybatis.spring.type.DummyTypeAlias2;
 import org.mybatis.spring.type.DummyTypeHandler;
 import org.mybatis.spring.type.SuperType;
 import org.mybatis.spring.type.TypeHandlerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 
 class SqlSessionFactoryBeanTest {
 
@@ -111,6 +130,51 @@ class SqlSessionFactoryBeanTest {
     assertThrows(IllegalArgumentException.class, factoryBean::getObject);
   }
 
+  @Test
+  void testBackgroundValidation() throws Exception {
+    setupFactoryBean();
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/TestMapper.xml"));
+    factoryBean.setFailFast(true);
+    factoryBean.setValidationExecutor(Runnable::run);
+    factoryBean.getObject();
+
+    var events = refreshAndCaptureValidationEvents();
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).isValid()).isTrue();
+    assertThat(events.get(0).getStatementCount()).isEqualTo(4);
+    assertThat(factoryBean.getValidationResult()).isSameAs(events.get(0));
+  }
+
+  @Test
+  void testBackgroundValidationReportsProblems() throws Exception {
+    setupFactoryBean();
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/IncompleteMapper.xml"));
+    factoryBean.setFailFast(true);
+    factoryBean.setValidationExecutor(Runnable::run);
+    factoryBean.getObject();
+
+    var events = refreshAndCaptureValidationEvents();
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).isValid()).isFalse();
+    assertThat(events.get(0).getProblems()).isNotEmpty();
+  }
+
+  private List<MappedStatementValidationEvent> refreshAndCaptureValidationEvents() {
+    List<MappedStatementValidationEvent> events = new ArrayList<>();
+    try (var context = new GenericApplicationContext()) {
+      context.addApplicationListener(event -> {
+        if (event instanceof MappedStatementValidationEvent) {
+          events.add((MappedStatementValidationEvent) event);
+        }
+      });
+      context.refresh();
+      factoryBean.onApplicationEvent(new ContextRefreshedEvent(context));
+    }
+    return events;
+  }
+
   @Test
   void testNullTransactionFactoryClass() throws Exception {
     setupFactoryBean();
@@ -428,6 +492,59 @@ class SqlSessionFactoryBeanTest {
     assertThat(typeHandlerRegistry.hasTypeHandler(BigDecimal.class)).isTrue();
   }
 
+  @Test
+  void testScanClassesFiltersOnAssignableType() throws Exception {
+    factoryBean = new SqlSessionFactoryBean();
+
+    assertThat(factoryBean.scanClasses("org.mybatis.spring.type", SuperType.class))
+        .containsExactlyInAnyOrder(SuperType.class, DummyTypeAlias2.class);
+  }
+
+  @Test
+  void testScanClassesReadsEveryClassFileOfSeveralPackages() throws Exception {
+    factoryBean = new SqlSessionFactoryBean();
+    var resolver = new PathMatchingResourcePatternResolver();
+    var metadataReaderFactory = new SimpleMetadataReaderFactory();
+    Set<String> expected = new HashSet<>();
+    for (String packagePath : List.of("org/mybatis/spring/type", "org/mybatis/spring/scan")) {
+      for (Resource resource : resolver.getResources("classpath*:" + packagePath + "/**/*.class")) {
+        expected.add(metadataReaderFactory.getMetadataReader(resource).getClassMetadata().getClassName());
+      }
+    }
+
+    var classes = factoryBean.scanClasses("org.mybatis.spring.type, org.mybatis.spring.scan", null);
+
+    assertThat(classes).extracting(Class::getName).containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(classes).contains(DummyTypeAlias.class, ScanClass1.StaticInnerClass.class, ScanEnum.class);
+  }
+
+  @Test
+  void testScannedClassNamesAreSharedByFactoryBeans(@TempDir Path directory) throws Exception {
+    var thread = Thread.currentThread();
+    var previousClassLoader = thread.getContextClassLoader();
+    try (var classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+      thread.setContextClassLoader(classLoader);
+      var first = new SqlSessionFactoryBean();
+      assertThat(first.scanClasses("org.mybatis.spring.type", null)).isEmpty();
+
+      // a class file added after the first scan is only found once the cached scan is released
+      var classFile = directory.resolve("org/mybatis/spring/type/SuperType.class");
+      Files.createDirectories(classFile.getParent());
+      try (var inputStream = SuperType.class.getResourceAsStream("SuperType.class")) {
+        Files.copy(inputStream, classFile);
+      }
+      assertThat(new SqlSessionFactoryBean().scanClasses("org.mybatis.spring.type", null)).isEmpty();
+
+      first.destroy();
+
+      assertThat(new SqlSessionFactoryBean().scanClasses("org.mybatis.spring.type", null)).extracting(Class::getName)
+          .containsExactly(SuperType.class.getName());
+      first.destroy();
+    } finally {
+      thread.setContextClassLoader(previousClassLoader);
+    }
+  }
+
   @Test
   void testDefaultEnumTypeHandler() throws Exception {
     setupFactoryBean();
@@ -581,6 +698,25 @@ class SqlSessionFactoryBeanTest {
     assertThat(factory.getConfiguration().getInterceptors()).isEmpty();
   }
 
+  @Test
+  void testApplicationStartupSteps() throws Exception {
+    var step = Mockito.mock(StartupStep.class, Mockito.RETURNS_SELF);
+    var applicationStartup = Mockito.mock(ApplicationStartup.class);
+    Mockito.when(applicationStartup.start(Mockito.anyString())).thenReturn(step);
+
+    setupFactoryBean();
+    factoryBean.setApplicationStartup(applicationStartup);
+    factoryBean.setTypeAliasesPackage("org.mybatis.spring.type");
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/TestMapper.xml"));
+    factoryBean.getObject();
+
+    Mockito.verify(applicationStartup).start("mybatis.factory.type-aliases.scan");
+    Mockito.verify(applicationStartup).start("mybatis.factory.mapper.parse");
+    Mockito.verify(applicationStartup).start("mybatis.factory.build");
+    Mockito.verify(step).tag("resource", "class path resource [org/mybatis/spring/TestMapper.xml]");
+    Mockito.verify(step, Mockito.times(3)).end();
+  }
+
   private void assertDefaultConfig(SqlSessionFactory factory) {
     assertConfig(factory, SqlSessionFactoryBean.class.getSimpleName(),
         org.mybatis.spring.transaction.SpringManagedTransactionFactory.class);
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.sample.domain.User;
+import org.mybatis.spring.transaction.SpringManagedTransaction;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SqlSessionPoolTest {
+
+  private static final String GET_USER = "org.mybatis.spring.sample.mapper.UserMapper.getUser";
+
+  private static final int CALLS = 100;
+
+  private final ExecutorCountingInterceptor executorCounter = new ExecutorCountingInterceptor();
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionFactoryBean factoryBean;
+
+  private SqlSessionTemplate sqlSessionTemplate;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    this.factoryBean = new SqlSessionFactoryBean();
+    this.factoryBean.setDataSource(this.dataSource);
+    this.factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/sample/mapper/UserMapper.xml"));
+    this.factoryBean.setPlugins(this.executorCounter);
+
+    this.sqlSessionTemplate = new SqlSessionTemplate(this.factoryBean.getObject());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    this.sqlSessionTemplate.destroy();
+    this.dataSource.shutdown();
+  }
+
+  @Test
+  void testWithoutPoolEveryCallCreatesAnExecutor() {
+    for (var i = 0; i < CALLS; i++) {
+      assertThat(this.sqlSessionTemplate.<User> selectOne(GET_USER, "u1").getName()).isEqualTo("Pocoyo");
+    }
+
+    assertThat(this.executorCounter.getCount()).isEqualTo(CALLS);
+  }
+
+  @Test
+  void testPooledSessionIsReused() {
+    this.sqlSessionTemplate.setSessionPoolSize(1);
+
+    for (var i = 0; i < CALLS; i++) {
+      assertThat(this.sqlSessionTemplate.<User> selectOne(GET_USER, "u1").getName()).isEqualTo("Pocoyo");
+    }
+
+    assertThat(this.executorCounter.getCount()).isEqualTo(1);
+    assertThat(this.sqlSessionTemplate.getIdleSessionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testPooledSessionDoesNotKeepLocalCache() {
+    this.sqlSessionTemplate.setSessionPoolSize(1);
+
+    User first = this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+    User second = this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  void testFailedSessionIsDiscarded() {
+    this.sqlSessionTemplate.setSessionPoolSize(1);
+    this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+
+    assertThatThrownBy(() -> this.sqlSessionTemplate.selectOne("org.mybatis.spring.sample.mapper.UserMapper.unknown"))
+        .isInstanceOf(MyBatisSystemException.class);
+    assertThat(this.sqlSessionTemplate.getIdleSessionCount()).isZero();
+
+    this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+
+    assertThat(this.executorCounter.getCount()).isEqualTo(2);
+    assertThat(this.sqlSessionTemplate.getIdleSessionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testSessionIsClosedWhenConnectionCannotBeReleased() throws Exception {
+    this.factoryBean.setTransactionFactory(new SpringManagedTransactionFactory() {
+      @Override
+      public Transaction newTransaction(DataSource dataSource, TransactionIsolationLevel level, boolean autoCommit) {
+        var transaction = spy(new SpringManagedTransaction(dataSource));
+        try {
+          doThrow(new SQLException("Cannot release")).when(transaction).close();
+        } catch (SQLException e) {
+          throw new IllegalStateException(e);
+        }
+        return transaction;
+      }
+    });
+    var template = new SqlSessionTemplate(this.factoryBean.getObject());
+    template.setSessionPoolSize(1);
+
+    // the call succeeded and was committed, only the session is not reused
+    assertThat(template.<User> selectOne(GET_USER, "u1").getName()).isEqualTo("Pocoyo");
+    assertThat(template.getIdleSessionCount()).isZero();
+  }
+
+  @Test
+  void testNotPooledInTransaction() {
+    this.sqlSessionTemplate.setSessionPoolSize(1);
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+    User user = transactionTemplate.execute(status -> this.sqlSessionTemplate.selectOne(GET_USER, "u2"));
+
+    assertThat(user.getName()).isEqualTo("Pato");
+    assertThat(this.sqlSessionTemplate.getIdleSessionCount()).isZero();
+  }
+
+  @Test
+  void testRequiresSpringManagedTransactionFactory() throws Exception {
+    this.factoryBean = new SqlSessionFactoryBean();
+    this.factoryBean.setDataSource(this.dataSource);
+    this.factoryBean.setTransactionFactory(new JdbcTransactionFactory());
+    var template = new SqlSessionTemplate(this.factoryBean.getObject());
+
+    assertThatThrownBy(() -> template.setSessionPoolSize(1)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Intercepts({ @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+      RowBounds.class, ResultHandler.class }) })
+  private static final class ExecutorCountingInterceptor implements Interceptor {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+      if (target instanceof Executor) {
+        this.count.incrementAndGet();
+      }
+      return Interceptor.super.plugin(target);
+    }
+
+    int getCount() {
+      return this.count.get();
+    }
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SqlSessionTemplateCoalescingTest {
+
+  private static final String GET_USER = "org.mybatis.spring.sample.mapper.UserMapper.getUser";
+
+  private static final int CALLERS = 10;
+
+  private final BlockingQueryInterceptor queryInterceptor = new BlockingQueryInterceptor();
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionTemplate sqlSessionTemplate;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(this.dataSource);
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/sample/mapper/UserMapper.xml"));
+    factoryBean.setPlugins(this.queryInterceptor);
+
+    this.sqlSessionTemplate = new SqlSessionTemplate(factoryBean.getObject());
+    this.sqlSessionTemplate.setCoalescedStatements(Set.of(GET_USER));
+    this.executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.executor.shutdownNow();
+    this.dataSource.shutdown();
+  }
+
+  @Test
+  void testConcurrentCallsShareOneExecution() throws Exception {
+    this.queryInterceptor.block();
+
+    List<Future<User>> results = new ArrayList<>(CALLERS);
+    for (var i = 0; i < CALLERS; i++) {
+      results.add(this.executor.submit(() -> this.sqlSessionTemplate.<User> selectOne(GET_USER, "u1")));
+    }
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (this.sqlSessionTemplate.getCoalescedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    this.queryInterceptor.unblock();
+
+    for (Future<User> result : results) {
+      assertThat(result.get(30, TimeUnit.SECONDS).getName()).isEqualTo("Pocoyo");
+    }
+    assertThat(this.queryInterceptor.getQueryCount()).isEqualTo(1);
+    assertThat(this.sqlSessionTemplate.getCoalescedCount()).isEqualTo(CALLERS - 1);
+  }
+
+  @Test
+  void testSequentialCallsAreNotCached() {
+    this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+    this.sqlSessionTemplate.selectOne(GET_USER, "u1");
+
+    assertThat(this.queryInterceptor.getQueryCount()).isEqualTo(2);
+    assertThat(this.sqlSessionTemplate.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void testNotCoalescedInTransaction() {
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+    User user = transactionTemplate.execute(status -> this.sqlSessionTemplate.selectOne(GET_USER, "u2"));
+
+    assertThat(user.getName()).isEqualTo("Pato");
+    assertThat(this.queryInterceptor.getQueryCount()).isEqualTo(1);
+    assertThat(this.sqlSessionTemplate.getCoalescedCount()).isZero();
+  }
+
+  @Intercepts(@Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+      RowBounds.class, ResultHandler.class }))
+  static class BlockingQueryInterceptor implements Interceptor {
+
+    private final AtomicInteger queryCount = new AtomicInteger();
+
+    private volatile CountDownLatch latch = new CountDownLatch(0);
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      this.queryCount.incrementAndGet();
+      this.latch.await(30, TimeUnit.SECONDS);
+      return invocation.proceed();
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+      // nothing to set
+    }
+
+    void block() {
+      this.latch = new CountDownLatch(1);
+    }
+
+    void unblock() {
+      this.latch.countDown();
+    }
+
+    int getQueryCount() {
+      return this.queryCount.get();
+    }
+  }
+
+}
@@ -20,12 +20,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.sql.SQLException;
+import java.util.stream.Stream;
 
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.TransactionStatus;
@@ -167,6 +169,27 @@ public class SqlSessionTemplateTest extends AbstractMyBatisSpringTest {
 
   }
 
+  @Test
+  void testTemplateWithNoTxSelectSkipsReadOnlyCommit() {
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+    template.setSkipReadOnlyCommit(true);
+
+    template.getMapper(TestMapper.class).findTest();
+
+    assertNoCommitJdbc();
+    assertCommitSession();
+  }
+
+  @Test
+  void testTemplateWithNoTxInsertWithSkipReadOnlyCommit() {
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+    template.setSkipReadOnlyCommit(true);
+
+    template.getMapper(TestMapper.class).insertTest("test1");
+
+    assertCommit();
+  }
+
   @Test
   void testWithTxRequired() {
     var txDef = new DefaultTransactionDefinition();
@@ -182,4 +205,70 @@ public class SqlSessionTemplateTest extends AbstractMyBatisSpringTest {
     assertSingleConnection();
   }
 
+  @Test
+  void testSelectStreamWithNoTx() throws SQLException {
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    try (Stream<Integer> stream = template.selectStream("org.mybatis.spring.TestMapper.findTest")) {
+      assertThat(connection.isClosed()).isFalse();
+      assertThat(stream).containsExactly(1);
+    }
+
+    assertThat(connection.isClosed()).isTrue();
+    assertCommit();
+    assertSingleConnection();
+  }
+
+  @Test
+  void testSelectStreamWithTx() throws SQLException {
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+    var status = txManager.getTransaction(new DefaultTransactionDefinition());
+
+    try (Stream<Integer> stream = template.selectStream("org.mybatis.spring.TestMapper.findTest")) {
+      assertThat(stream).containsExactly(1);
+    }
+    assertThat(connection.isClosed()).isFalse();
+
+    txManager.commit(status);
+
+    assertCommit();
+    assertSingleConnection();
+  }
+
+  @Test
+  void testSelectStreamExceptionTranslation() throws SQLException {
+    connection.getPreparedStatementResultSetHandler().prepareThrowsSQLException("SELECT 'fail'");
+    var template = new SqlSessionTemplate(sqlSessionFactory);
+
+    assertThrows(DataAccessException.class, () -> template.selectStream("org.mybatis.spring.TestMapper.findFail"));
+    assertThat(connection.isClosed()).isTrue();
+  }
+
+  @Test
+  void testContextStopOnlyRefusesNewStreams() throws SQLException {
+    var context = new GenericApplicationContext();
+    context.registerBean(SqlSessionTemplate.class, () -> new SqlSessionTemplate(sqlSessionFactory));
+    context.refresh();
+    var template = context.getBean(SqlSessionTemplate.class);
+
+    var stream = template.<Integer> selectStream("org.mybatis.spring.TestMapper.findTest");
+
+    // what Spring does before a checkpoint and after a restore
+    context.stop();
+
+    assertThat(template.isRunning()).isFalse();
+    assertThrows(IllegalStateException.class, () -> template.selectStream("org.mybatis.spring.TestMapper.findTest"));
+    // the stream being iterated is left to its owner
+    assertThat(connection.isClosed()).isFalse();
+    assertThat(stream).containsExactly(1);
+    stream.close();
+    assertThat(connection.isClosed()).isTrue();
+
+    context.start();
+
+    assertThat(template.isRunning()).isTrue();
+    template.<Integer> selectStream("org.mybatis.spring.TestMapper.findTest").close();
+    context.close();
+  }
+
 }
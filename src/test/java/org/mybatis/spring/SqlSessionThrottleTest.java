@@ -0,0 +1,163 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class SqlSessionThrottleTest {
+
+  private static final int CALLERS = 10_000;
+
+  private static final int PERMITS = 8;
+
+  @Test
+  void testAcquireAndRelease() {
+    var throttle = new SqlSessionThrottle(2);
+
+    throttle.acquire();
+    throttle.acquire();
+
+    assertThat(throttle.getAvailablePermits()).isZero();
+    assertThat(throttle.getAcquireCount()).isEqualTo(2);
+
+    throttle.release();
+    throttle.release();
+
+    assertThat(throttle.getAvailablePermits()).isEqualTo(2);
+    assertThat(throttle.getPermits()).isEqualTo(2);
+  }
+
+  @Test
+  void testAcquireTimeout() {
+    var throttle = new SqlSessionThrottle(1, Duration.ofMillis(10));
+    throttle.acquire();
+
+    assertThatThrownBy(throttle::acquire).isInstanceOf(TransientDataAccessResourceException.class);
+    assertThat(throttle.getTimeoutCount()).isEqualTo(1);
+    assertThat(throttle.getAcquireCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testInvalidPermits() {
+    assertThatThrownBy(() -> new SqlSessionThrottle(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // runs on virtual threads when the JVM supports them (Java 21+), on a large platform thread pool otherwise
+  @Test
+  void testManyConcurrentCallers() throws Exception {
+    var dataSource = new ConcurrencyTrackingDataSource(new EmbeddedDatabaseBuilder().generateUniqueName(true)
+        .setType(EmbeddedDatabaseType.HSQL).addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build());
+
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/sample/mapper/UserMapper.xml"));
+
+    var throttle = new SqlSessionThrottle(PERMITS);
+    var sqlSessionTemplate = new SqlSessionTemplate(factoryBean.getObject());
+    sqlSessionTemplate.setThrottle(throttle);
+
+    List<Future<User>> results = new ArrayList<>(CALLERS);
+    var executor = newCallerExecutor();
+    try {
+      for (var i = 0; i < CALLERS; i++) {
+        results.add(executor
+            .submit(() -> sqlSessionTemplate.<User> selectOne("org.mybatis.spring.sample.mapper.UserMapper.getUser", "u1")));
+      }
+      for (Future<User> result : results) {
+        assertThat(result.get(1, TimeUnit.MINUTES).getName()).isEqualTo("Pocoyo");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(dataSource.getMaxActiveConnections()).isLessThanOrEqualTo(PERMITS);
+    assertThat(dataSource.getActiveConnections()).isZero();
+    assertThat(throttle.getAcquireCount()).isEqualTo(CALLERS);
+    assertThat(throttle.getAvailablePermits()).isEqualTo(PERMITS);
+    assertThat(throttle.getQueueLength()).isZero();
+    assertThat(throttle.getMaxWaitTime()).isGreaterThanOrEqualTo(throttle.getAverageWaitTime());
+  }
+
+  private static ExecutorService newCallerExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(256);
+    }
+  }
+
+  private static final class ConcurrencyTrackingDataSource extends DelegatingDataSource {
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    private final AtomicInteger maxActiveConnections = new AtomicInteger();
+
+    private ConcurrencyTrackingDataSource(DataSource targetDataSource) {
+      super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      var target = super.getConnection();
+      this.maxActiveConnections.accumulateAndGet(this.activeConnections.incrementAndGet(), Math::max);
+      return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+          (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && !target.isClosed()) {
+              this.activeConnections.decrementAndGet();
+            }
+            try {
+              return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+              throw e.getTargetException();
+            }
+          });
+    }
+
+    int getActiveConnections() {
+      return this.activeConnections.get();
+    }
+
+    int getMaxActiveConnections() {
+      return this.maxActiveConnections.get();
+    }
+  }
+
+}
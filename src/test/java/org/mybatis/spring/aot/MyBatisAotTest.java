@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.aot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.sample.domain.User;
+import org.mybatis.spring.sample.mapper.UserMapper;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.javapoet.ClassName;
+
+class MyBatisAotTest {
+
+  @Test
+  void testRuntimeHints() {
+    var hints = new RuntimeHints();
+    new MyBatisRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+    assertThat(RuntimeHintsPredicates.proxies().forInterfaces(SqlSession.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(SpringManagedTransactionFactory.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/ibatis/builder/xml/mybatis-3-mapper.dtd"))
+        .accepts(hints);
+  }
+
+  @Test
+  void testMapperHints() {
+    var beanFactory = new DefaultListableBeanFactory();
+    var mapperDefinition = new RootBeanDefinition(MapperFactoryBean.class);
+    mapperDefinition.getPropertyValues().add("mapperInterface", UserMapper.class);
+    beanFactory.registerBeanDefinition("userMapper", mapperDefinition);
+    var factoryDefinition = new RootBeanDefinition(SqlSessionFactoryBean.class);
+    factoryDefinition.getPropertyValues().add("mapperLocations",
+        "classpath*:org/mybatis/spring/sample/mapper/*.xml, ${mapper.locations}");
+    beanFactory.registerBeanDefinition("sqlSessionFactory", factoryDefinition);
+
+    var contribution = new MyBatisBeanFactoryInitializationAotProcessor().processAheadOfTime(beanFactory);
+    var generationContext = new DefaultGenerationContext(
+        new ClassNameGenerator(ClassName.get("org.mybatis.spring.aot", "Test")), new InMemoryGeneratedFiles());
+    contribution.applyTo(generationContext, null);
+
+    var hints = generationContext.getRuntimeHints();
+    assertThat(RuntimeHintsPredicates.proxies().forInterfaces(UserMapper.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(UserMapper.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(User.class)).accepts(hints);
+    assertThat(RuntimeHintsPredicates.reflection().onType(String.class)).rejects(hints);
+    assertThat(RuntimeHintsPredicates.resource().forResource("org/mybatis/spring/sample/mapper/PersonMapper.xml"))
+        .accepts(hints);
+  }
+
+  @Test
+  void testNoContributionWithoutMappers() {
+    assertThat(new MyBatisBeanFactoryInitializationAotProcessor().processAheadOfTime(new DefaultListableBeanFactory()))
+        .isNull();
+  }
+
+}
@@ -74,6 +74,44 @@ class MyBatisCursorItemReaderTest {
 
   }
 
+  @Test
+  void testReadAfterStopFailsUntilReopened() throws Exception {
+    Mockito.when(this.sqlSessionFactory.openSession(ExecutorType.SIMPLE)).thenReturn(this.sqlSession);
+    Mockito.when(this.sqlSession.selectCursor("selectFoo", Map.of())).thenReturn(this.cursor);
+    Mockito.when(this.cursor.iterator()).thenAnswer(invocation -> getFoos().iterator());
+
+    var itemReader = new MyBatisCursorItemReader<Foo>();
+    itemReader.setSqlSessionFactory(this.sqlSessionFactory);
+    itemReader.setQueryId("selectFoo");
+    itemReader.afterPropertiesSet();
+
+    itemReader.open(new ExecutionContext());
+    Assertions.assertThat(itemReader.read().getName()).isEqualTo("foo1");
+    Assertions.assertThat(itemReader.read().getName()).isEqualTo("foo2");
+    Assertions.assertThat(itemReader.isRunning()).isTrue();
+
+    itemReader.stop();
+
+    Assertions.assertThat(itemReader.isRunning()).isFalse();
+    Mockito.verify(this.cursor).close();
+    Mockito.verify(this.sqlSession).close();
+
+    itemReader.start();
+
+    Assertions.assertThatThrownBy(itemReader::read).isInstanceOf(IllegalStateException.class);
+    Mockito.verify(this.sqlSession, Mockito.times(1)).selectCursor("selectFoo", Map.of());
+
+    // a restarted step reopens the reader from its saved position
+    var executionContext = new ExecutionContext();
+    executionContext.putInt("MyBatisCursorItemReader.read.count", 2);
+    itemReader.close();
+    itemReader.open(executionContext);
+
+    Assertions.assertThat(itemReader.read().getName()).isEqualTo("foo3");
+    Assertions.assertThat(itemReader.read()).isNull();
+    itemReader.close();
+  }
+
   @Test
   void testCloseBeforeOpen() {
     var itemReader = new MyBatisCursorItemReader<Foo>();
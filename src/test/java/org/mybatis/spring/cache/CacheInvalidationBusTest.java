@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class CacheInvalidationBusTest {
+
+  private static final String NAMESPACE = "org.mybatis.spring.cache.InvalidatedUserMapper";
+
+  private final LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionTemplate nodeA;
+
+  private SqlSessionTemplate nodeB;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+    this.nodeA = createNode();
+    this.nodeB = createNode();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.dataSource.shutdown();
+  }
+
+  private SqlSessionTemplate createNode() throws Exception {
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(this.dataSource);
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/cache/InvalidatedUserMapper.xml"));
+    factoryBean.setCacheInvalidationTransport(this.transport);
+    return new SqlSessionTemplate(factoryBean.getObject());
+  }
+
+  @Test
+  void testInvalidatedWithoutTransaction() {
+    assertThat(getUserName(this.nodeB)).isEqualTo("Pocoyo");
+    assertThat(cacheSize(this.nodeB)).isEqualTo(1);
+
+    rename(this.nodeA, "Pocoyo!");
+
+    assertThat(cacheSize(this.nodeB)).isZero();
+    assertThat(getUserName(this.nodeB)).isEqualTo("Pocoyo!");
+    assertThat(getBus(this.nodeA).getPublishedCount()).isEqualTo(1);
+    assertThat(getBus(this.nodeA).getReceivedCount()).isZero();
+    assertThat(getBus(this.nodeB).getReceivedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testInvalidatedAfterCommit() {
+    getUserName(this.nodeB);
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      rename(this.nodeA, "Pocoyo!");
+      assertThat(cacheSize(this.nodeB)).isEqualTo(1);
+    });
+
+    assertThat(cacheSize(this.nodeB)).isZero();
+    assertThat(getUserName(this.nodeB)).isEqualTo("Pocoyo!");
+  }
+
+  @Test
+  void testNotInvalidatedAfterRollback() {
+    getUserName(this.nodeB);
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      rename(this.nodeA, "Pocoyo!");
+      status.setRollbackOnly();
+    });
+
+    assertThat(cacheSize(this.nodeB)).isEqualTo(1);
+    assertThat(getBus(this.nodeA).getPublishedCount()).isZero();
+  }
+
+  private static String getUserName(SqlSessionTemplate node) {
+    User user = node.selectOne(NAMESPACE + ".getUser", "u1");
+    return user.getName();
+  }
+
+  private static void rename(SqlSessionTemplate node, String name) {
+    node.update(NAMESPACE + ".renameUser", Map.of("id", "u1", "name", name));
+  }
+
+  private static int cacheSize(SqlSessionTemplate node) {
+    return node.getConfiguration().getCache(NAMESPACE).getSize();
+  }
+
+  private static CacheInvalidationBus getBus(SqlSessionTemplate node) {
+    return (CacheInvalidationBus) node.getConfiguration().getInterceptors().get(0);
+  }
+
+}
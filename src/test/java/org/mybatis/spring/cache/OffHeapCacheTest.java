@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.cache.CacheException;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+  @Test
+  void testPutAndGet() {
+    var cache = new OffHeapCache("test");
+    List<String> value = new ArrayList<>(List.of("Pocoyo", "Pato"));
+
+    cache.putObject("key", value);
+    var cached = cache.getObject("key");
+
+    assertThat(cached).isEqualTo(value).isNotSameAs(value);
+    assertThat(cache.getObject("other")).isNull();
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.getUsedBytes()).isPositive();
+  }
+
+  @Test
+  void testNullValueRemovesEntry() {
+    var cache = new OffHeapCache("test");
+    cache.putObject("key", "value");
+
+    cache.putObject("key", null);
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(cache.getSize()).isZero();
+    assertThat(cache.getUsedBytes()).isZero();
+  }
+
+  @Test
+  void testReplaceKeepsAccounting() {
+    var cache = new OffHeapCache("test");
+    cache.putObject("key", "value");
+    var usedBytes = cache.getUsedBytes();
+
+    cache.putObject("key", "value");
+
+    assertThat(cache.getUsedBytes()).isEqualTo(usedBytes);
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsed() {
+    var cache = new OffHeapCache("test");
+    cache.putObject("a", "value a");
+    var entrySize = cache.getUsedBytes();
+    cache.setCapacity(entrySize * 2);
+    cache.putObject("b", "value b");
+
+    cache.getObject("a");
+    cache.putObject("c", "value c");
+
+    assertThat(cache.getObject("a")).isEqualTo("value a");
+    assertThat(cache.getObject("b")).isNull();
+    assertThat(cache.getObject("c")).isEqualTo("value c");
+    assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(cache.getCapacity());
+  }
+
+  @Test
+  void testValueLargerThanCapacityIsNotCached() {
+    var cache = new OffHeapCache("test");
+    cache.setCapacity(8);
+
+    cache.putObject("key", "a value larger than eight bytes");
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(cache.getUsedBytes()).isZero();
+  }
+
+  @Test
+  void testClear() {
+    var cache = new OffHeapCache("test");
+    cache.putObject("a", "value a");
+    cache.putObject("b", "value b");
+
+    cache.clear();
+
+    assertThat(cache.getSize()).isZero();
+    assertThat(cache.getUsedBytes()).isZero();
+  }
+
+  @Test
+  void testReusesBlocksOfEvictedEntries() {
+    var cache = new OffHeapCache("test");
+    cache.setBlockSize(64);
+    cache.setCapacity(64 * 4);
+
+    for (var i = 0; i < 1000; i++) {
+      cache.putObject("key" + i, "value " + i);
+    }
+
+    assertThat(cache.getObject("key999")).isEqualTo("value 999");
+    assertThat(cache.getUsedBytes()).isLessThanOrEqualTo(cache.getCapacity());
+    assertThat(cache.getAllocatedBytes()).isEqualTo(cache.getCapacity());
+  }
+
+  @Test
+  void testValueSpanningSeveralBlocks() {
+    var cache = new OffHeapCache("test");
+    cache.setBlockSize(16);
+    var value = "a value larger than one block of sixteen bytes";
+
+    cache.putObject("key", value);
+
+    assertThat(cache.getObject("key")).isEqualTo(value);
+    assertThat(cache.getUsedBytes()).isGreaterThan(16);
+  }
+
+  @Test
+  void testCustomSerializer() {
+    var cache = new OffHeapCache("test");
+    cache.setSerializerType(StringSerializer.class.getName());
+
+    cache.putObject("key", "Pocoyo");
+
+    assertThat(cache.getSerializer()).isInstanceOf(StringSerializer.class);
+    assertThat(cache.getObject("key")).isEqualTo("Pocoyo");
+    assertThat(cache.getUsedBytes()).isEqualTo(OffHeapCache.DEFAULT_BLOCK_SIZE);
+  }
+
+  @Test
+  void testBlockSizeCannotChangeOnceUsed() {
+    var cache = new OffHeapCache("test");
+    cache.putObject("key", "value");
+
+    assertThatThrownBy(() -> cache.setBlockSize(64)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void testNotSerializable() {
+    var cache = new OffHeapCache("test");
+
+    assertThatThrownBy(() -> cache.putObject("key", new Object())).isInstanceOf(CacheException.class);
+  }
+
+  public static class StringSerializer implements CacheValueSerializer {
+
+    @Override
+    public byte[] serialize(Object value) {
+      return ((String) value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+}
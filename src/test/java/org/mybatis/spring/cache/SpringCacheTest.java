@@ -0,0 +1,119 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class SpringCacheTest {
+
+  private static final String NAMESPACE = "org.mybatis.spring.cache.CachedUserMapper";
+
+  private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionTemplate sqlSessionTemplate;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(this.dataSource);
+    factoryBean.setMapperLocations(new ClassPathResource("org/mybatis/spring/cache/CachedUserMapper.xml"));
+    factoryBean.setCacheManager(this.cacheManager);
+
+    this.sqlSessionTemplate = new SqlSessionTemplate(factoryBean.getObject());
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.dataSource.shutdown();
+  }
+
+  @Test
+  void testBoundByFactoryBean() {
+    var cache = (SpringCache) this.sqlSessionTemplate.getConfiguration().getCache(NAMESPACE);
+
+    assertThat(cache.isBound()).isTrue();
+    assertThat(cache.getCacheName()).isEqualTo("users");
+    assertThat(cache.getTarget()).isSameAs(this.cacheManager.getCache("users"));
+  }
+
+  @Test
+  void testCachedAcrossSessions() {
+    var cache = (SpringCache) this.sqlSessionTemplate.getConfiguration().getCache(NAMESPACE);
+
+    User first = this.sqlSessionTemplate.selectOne(NAMESPACE + ".getUser", "u1");
+    User second = this.sqlSessionTemplate.selectOne(NAMESPACE + ".getUser", "u1");
+
+    assertThat(second.getName()).isEqualTo(first.getName()).isEqualTo("Pocoyo");
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  void testFlushedOnUpdate() {
+    var cache = (SpringCache) this.sqlSessionTemplate.getConfiguration().getCache(NAMESPACE);
+    this.sqlSessionTemplate.selectOne(NAMESPACE + ".getUser", "u1");
+
+    this.sqlSessionTemplate.update(NAMESPACE + ".renameUser", Map.of("id", "u1", "name", "Pocoyo!"));
+    User user = this.sqlSessionTemplate.selectOne(NAMESPACE + ".getUser", "u1");
+
+    assertThat(user.getName()).isEqualTo("Pocoyo!");
+    assertThat(cache.getHitCount()).isZero();
+  }
+
+  @Test
+  void testNullValueEvicts() {
+    var cache = new SpringCache("test");
+    cache.bind(this.cacheManager);
+
+    cache.putObject("key", "value");
+    cache.putObject("key", null);
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void testUnboundCache() {
+    var cache = new SpringCache("test");
+
+    assertThat(cache.isBound()).isFalse();
+    assertThatThrownBy(() -> cache.getObject("key")).isInstanceOf(IllegalStateException.class);
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StampedeProtectingCacheTest {
+
+  private final ExecutorService otherSession = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() {
+    this.otherSession.shutdownNow();
+  }
+
+  @Test
+  void testOnlyOneSessionLoadsMissingKey() throws Exception {
+    var cache = new StampedeProtectingCache("test");
+
+    assertThat(cache.getObject("key")).isNull();
+    var waiting = this.otherSession.submit(() -> cache.getObject("key"));
+
+    assertThatThrownBy(() -> waiting.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+    cache.putObject("key", "value");
+
+    assertThat(waiting.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+  }
+
+  @Test
+  void testRollbackReleasesLock() throws Exception {
+    var cache = new StampedeProtectingCache("test");
+    cache.putObject("key", "value");
+    cache.setTimeToLive(1);
+    Thread.sleep(10);
+
+    assertThat(cache.getObject("key")).isNull();
+    cache.removeObject("key");
+
+    assertThat(this.otherSession.submit(() -> cache.getObject("key")).get(10, TimeUnit.SECONDS)).isNull();
+  }
+
+  @Test
+  void testLockTimeout() throws Exception {
+    var cache = new StampedeProtectingCache("test");
+    cache.setLockTimeout(50);
+
+    assertThat(cache.getObject("key")).isNull();
+    var waiting = this.otherSession.submit(() -> cache.getObject("key"));
+
+    assertThatThrownBy(() -> waiting.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(CacheException.class);
+  }
+
+  @Test
+  void testStaleWhileRevalidate() throws Exception {
+    var cache = new StampedeProtectingCache("test");
+    cache.setTimeToLive(20);
+    cache.setStaleTime(60_000);
+    cache.putObject("key", "stale");
+    Thread.sleep(40);
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(this.otherSession.submit(() -> cache.getObject("key")).get(10, TimeUnit.SECONDS)).isEqualTo("stale");
+
+    cache.putObject("key", "fresh");
+
+    assertThat(this.otherSession.submit(() -> cache.getObject("key")).get(10, TimeUnit.SECONDS)).isEqualTo("fresh");
+  }
+
+  @Test
+  void testExpiredWithoutStaleTime() throws Exception {
+    var cache = new StampedeProtectingCache("test");
+    cache.setTimeToLive(20);
+    cache.putObject("key", "value");
+    Thread.sleep(40);
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void testRefreshAhead() throws Exception {
+    var cache = new StampedeProtectingCache(new PerpetualCache("test"));
+    cache.setTimeToLive(60_000);
+    cache.setRefreshAheadTime(60_000);
+    cache.putObject("key", "current");
+
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(this.otherSession.submit(() -> cache.getObject("key")).get(10, TimeUnit.SECONDS))
+        .isEqualTo("current");
+  }
+
+  @Test
+  void testFreshEntry() {
+    var cache = new StampedeProtectingCache("test");
+    cache.setTimeToLive(60_000);
+    cache.setRefreshAheadTime(1_000);
+    cache.putObject("key", "value");
+
+    assertThat(cache.getObject("key")).isEqualTo("value");
+    assertThat(cache.getObject("key")).isEqualTo("value");
+  }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.mybatis.spring.annotation.MapperCacheEvict;
+import org.mybatis.spring.annotation.MapperCacheable;
+import org.mybatis.spring.sample.domain.User;
+
+public interface CachingUserMapper {
+
+  @MapperCacheable(maxSize = 2)
+  @Select("select * from users where id = #{id}")
+  User getUser(String id);
+
+  @MapperCacheable(timeToLive = 1, timeUnit = TimeUnit.MILLISECONDS)
+  @Select("select * from users where id = #{id}")
+  User getUserBriefly(String id);
+
+  @MapperCacheEvict({ "getUser", "getUserBriefly" })
+  @Update("update users set name = #{name} where id = #{id}")
+  int renameUser(@Param("id") String id, @Param("name") String name);
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mybatis.spring.scancandidate.ScanMapper;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+class ClassPathMapperScannerTest {
+
+  private ApplicationStartup applicationStartup;
+
+  private StartupStep step;
+
+  @BeforeEach
+  void setupApplicationStartup() {
+    step = mock(StartupStep.class, RETURNS_SELF);
+    applicationStartup = mock(ApplicationStartup.class);
+    when(applicationStartup.start(anyString())).thenReturn(step);
+  }
+
+  @Test
+  void scanIsRecordedAsStartupStep() {
+    try (var applicationContext = new GenericApplicationContext()) {
+      var scanner = newScanner(applicationContext);
+      var packageName = ScanMapper.class.getPackageName();
+
+      assertThat(scanner.doScan(packageName)).hasSize(1);
+
+      assertStepRecorded(packageName, "1");
+    }
+  }
+
+  @Test
+  void scanWithoutCandidatesIsRecordedAsStartupStep() {
+    try (var applicationContext = new GenericApplicationContext()) {
+      var scanner = newScanner(applicationContext);
+      var packageName = "org.mybatis.spring.nonexistent";
+
+      assertThat(scanner.doScan(packageName)).isEmpty();
+
+      assertStepRecorded(packageName, "0");
+    }
+  }
+
+  private ClassPathMapperScanner newScanner(GenericApplicationContext applicationContext) {
+    var scanner = new ClassPathMapperScanner(applicationContext, applicationContext.getEnvironment());
+    scanner.setApplicationStartup(applicationStartup);
+    scanner.registerFilters();
+    return scanner;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void assertStepRecorded(String packageName, String count) {
+    var packages = ArgumentCaptor.forClass(Supplier.class);
+    var order = inOrder(applicationStartup, step);
+    order.verify(applicationStartup).start("mybatis.mappers.scan");
+    order.verify(step).tag(eq("packages"), packages.capture());
+    order.verify(step).tag("count", count);
+    order.verify(step).end();
+    verify(applicationStartup).start(anyString());
+    assertThat(packages.getValue().get()).isEqualTo("[" + packageName + "]");
+  }
+}
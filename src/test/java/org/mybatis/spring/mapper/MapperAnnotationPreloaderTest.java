@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.sample.domain.User;
+import org.mybatis.spring.sample.mapper.UserMapper;
+
+class MapperAnnotationPreloaderTest {
+
+  private RecordingReflectorFactory reflectorFactory;
+
+  private Configuration configuration;
+
+  @BeforeEach
+  void setUp() {
+    this.reflectorFactory = new RecordingReflectorFactory();
+    this.configuration = new Configuration();
+    this.configuration.setReflectorFactory(this.reflectorFactory);
+  }
+
+  @Test
+  void testReflectorsArePresentBeforeTheMappersAreAdded() {
+    MapperAnnotationPreloader.preload(this.configuration, getClass().getClassLoader(),
+        List.of(UserMapper.class.getName(), "org.mybatis.spring.NoSuchMapper"));
+
+    assertThat(this.reflectorFactory.requests).containsOnlyKeys(User.class);
+    assertThat(this.configuration.hasMapper(UserMapper.class)).isFalse();
+  }
+
+  @Test
+  void testMappersArePreparedOncePerConfiguration() {
+    var group = List.of(UserMapper.class.getName());
+
+    MapperAnnotationPreloader.preload(this.configuration, getClass().getClassLoader(), group);
+    MapperAnnotationPreloader.preload(this.configuration, getClass().getClassLoader(), group);
+
+    assertThat(this.reflectorFactory.requests.get(User.class)).hasValue(1);
+  }
+
+  private static final class RecordingReflectorFactory extends DefaultReflectorFactory {
+
+    private final Map<Class<?>, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    @Override
+    public Reflector findForClass(Class<?> type) {
+      this.requests.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet();
+      return super.findForClass(type);
+    }
+  }
+
+}
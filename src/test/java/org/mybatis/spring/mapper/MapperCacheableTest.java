@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.ibatis.annotations.Select;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.annotation.MapperCacheEvict;
+import org.mybatis.spring.annotation.MapperCacheable;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class MapperCacheableTest {
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionFactoryBean sqlSessionFactoryBean;
+
+  private CachingUserMapper mapper;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    this.sqlSessionFactoryBean = new SqlSessionFactoryBean();
+    this.sqlSessionFactoryBean.setDataSource(this.dataSource);
+    this.mapper = createMapper(CachingUserMapper.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.dataSource.shutdown();
+  }
+
+  private <T> T createMapper(Class<T> mapperInterface) throws Exception {
+    var factoryBean = new MapperFactoryBean<>(mapperInterface);
+    factoryBean.setSqlSessionFactory(this.sqlSessionFactoryBean.getObject());
+    factoryBean.afterPropertiesSet();
+    return factoryBean.getObject();
+  }
+
+  @Test
+  void testResultIsCached() {
+    var user = this.mapper.getUser("u1");
+
+    assertThat(this.mapper.getUser("u1")).isSameAs(user);
+    assertThat(this.mapper.getUser("u2")).isNotSameAs(user);
+  }
+
+  @Test
+  void testEvictedByAnotherMethod() {
+    this.mapper.getUser("u1");
+
+    this.mapper.renameUser("u1", "Pocoyo!");
+
+    assertThat(this.mapper.getUser("u1").getName()).isEqualTo("Pocoyo!");
+  }
+
+  @Test
+  void testExpires() throws Exception {
+    var user = this.mapper.getUserBriefly("u1");
+    Thread.sleep(20);
+
+    assertThat(this.mapper.getUserBriefly("u1")).isNotSameAs(user);
+  }
+
+  @Test
+  void testMaxSize() {
+    var user = this.mapper.getUser("u1");
+    this.mapper.getUser("u2");
+    this.mapper.getUser("u3");
+
+    assertThat(this.mapper.getUser("u1")).isNotSameAs(user);
+  }
+
+  @Test
+  void testBypassedInReadWriteTransaction() {
+    var user = this.mapper.getUser("u1");
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+    var userInTransaction = transactionTemplate.execute(status -> this.mapper.getUser("u1"));
+
+    assertThat(userInTransaction).isNotSameAs(user);
+    assertThat(this.mapper.getUser("u1")).isSameAs(user);
+  }
+
+  @Test
+  void testUsedInReadOnlyTransaction() {
+    var user = this.mapper.getUser("u1");
+    var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+    transactionTemplate.setReadOnly(true);
+
+    assertThat(transactionTemplate.execute(status -> this.mapper.getUser("u1"))).isSameAs(user);
+  }
+
+  @Test
+  void testEvictUnknownMethod() {
+    assertThatThrownBy(() -> createMapper(InvalidEvictMapper.class)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testInvalidMaxSize() {
+    assertThatThrownBy(() -> createMapper(InvalidMaxSizeMapper.class)).isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("maxSize");
+  }
+
+  @Test
+  void testNegativeTimeToLive() {
+    assertThatThrownBy(() -> createMapper(NegativeTimeToLiveMapper.class))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("timeToLive");
+  }
+
+  public interface InvalidEvictMapper {
+
+    @MapperCacheEvict("unknown")
+    @Select("select count(*) from users")
+    int countUsers();
+
+  }
+
+  public interface InvalidMaxSizeMapper {
+
+    @MapperCacheable(maxSize = 0)
+    @Select("select count(*) from users")
+    int countUsers();
+
+  }
+
+  public interface NegativeTimeToLiveMapper {
+
+    @MapperCacheable(timeToLive = -1)
+    @Select("select count(*) from users")
+    int countUsers();
+
+  }
+
+}
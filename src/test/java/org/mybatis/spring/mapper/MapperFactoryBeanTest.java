@@ -18,20 +18,35 @@ package org.mybatis.spring.mapper;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import com.mockrunner.mock.jdbc.MockConnection;
 import com.mockrunner.mock.jdbc.MockDataSource;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.AbstractMyBatisSpringTest;
+import org.mybatis.spring.LazyMapperConfiguration;
 import org.mybatis.spring.MyBatisSystemException;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.TestMapper;
+import org.mybatis.spring.sample.domain.User;
+import org.mybatis.spring.sample.mapper.UserMapper;
 import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
@@ -72,6 +87,122 @@ class MapperFactoryBeanTest extends AbstractMyBatisSpringTest {
     assertExecuteCount(1);
   }
 
+  @Test
+  void testDeferredRegistration() throws Exception {
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDatabaseIdProvider(null);
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setPlugins(executorInterceptor);
+    factoryBean.setConfiguration(new LazyMapperConfiguration());
+
+    var configuration = factoryBean.getObject().getConfiguration();
+
+    var mapperFactoryBean = new MapperFactoryBean<>(TestMapper.class);
+    mapperFactoryBean.setSqlSessionTemplate(new SqlSessionTemplate(factoryBean.getObject()));
+    mapperFactoryBean.setDeferredRegistration(true);
+    mapperFactoryBean.afterPropertiesSet();
+
+    var mapper = mapperFactoryBean.getObject();
+
+    assertThat(configuration.hasMapper(TestMapper.class)).isFalse();
+    assertThat(mapper.toString()).isEqualTo("Deferred proxy for mapper " + TestMapper.class.getName());
+
+    mapper.findTest();
+
+    assertThat(configuration.hasMapper(TestMapper.class)).isTrue();
+    assertCommit(); // SqlSesssionTemplate autocommits
+    assertSingleConnection();
+    assertExecuteCount(1);
+  }
+
+  @Test
+  void testDeferredRegistrationRequiresLazyMapperConfiguration() throws Exception {
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDatabaseIdProvider(null);
+    factoryBean.setDataSource(dataSource);
+
+    var configuration = factoryBean.getObject().getConfiguration();
+
+    var mapperFactoryBean = new MapperFactoryBean<>(TestMapper.class);
+    mapperFactoryBean.setSqlSessionTemplate(new SqlSessionTemplate(factoryBean.getObject()));
+    mapperFactoryBean.setDeferredRegistration(true);
+    mapperFactoryBean.afterPropertiesSet();
+
+    // a plain configuration does not guard its lookups: the mapper is added right away
+    assertThat(configuration.hasMapper(TestMapper.class)).isTrue();
+    assertThat(mapperFactoryBean.getObject().toString()).doesNotStartWith("Deferred proxy");
+  }
+
+  @Test
+  void testConcurrentFirstCallsOfDeferredMappers() throws Exception {
+    var database = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      var factoryBean = new SqlSessionFactoryBean();
+      factoryBean.setDataSource(database);
+      factoryBean.setConfiguration(new LazyMapperConfiguration());
+      var sqlSessionFactory = factoryBean.getObject();
+
+      // two placeholders of the same mapper, for instance in two contexts sharing the SqlSessionFactory
+      List<UserMapper> mappers = new ArrayList<>();
+      for (var i = 0; i < 2; i++) {
+        var mapperFactoryBean = new MapperFactoryBean<>(UserMapper.class);
+        mapperFactoryBean.setSqlSessionTemplate(new SqlSessionTemplate(sqlSessionFactory));
+        mapperFactoryBean.setDeferredRegistration(true);
+        mapperFactoryBean.afterPropertiesSet();
+        mappers.add(mapperFactoryBean.getObject());
+      }
+      assertThat(sqlSessionFactory.getConfiguration().hasMapper(UserMapper.class)).isFalse();
+
+      var barrier = new CyclicBarrier(2);
+      List<Callable<User>> firstCalls = new ArrayList<>();
+      for (UserMapper mapper : mappers) {
+        firstCalls.add(() -> {
+          barrier.await();
+          return mapper.getUser("u1");
+        });
+      }
+      for (Future<User> user : executor.invokeAll(firstCalls)) {
+        assertThat(user.get().getName()).isEqualTo("Pocoyo");
+      }
+      assertThat(sqlSessionFactory.getConfiguration().hasMapper(UserMapper.class)).isTrue();
+    } finally {
+      executor.shutdownNow();
+      database.shutdown();
+    }
+  }
+
+  @Test
+  void testMapperInterfaceGroup() throws Exception {
+    var factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDatabaseIdProvider(null);
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setPlugins(executorInterceptor);
+
+    var configuration = factoryBean.getObject().getConfiguration();
+    var reflectorFactory = spy(new DefaultReflectorFactory());
+    configuration.setReflectorFactory(reflectorFactory);
+
+    var mapperFactoryBean = new MapperFactoryBean<>(TestMapper.class);
+    mapperFactoryBean.setSqlSessionTemplate(new SqlSessionTemplate(factoryBean.getObject()));
+    mapperFactoryBean.setMapperInterfaceGroup(
+        List.of(TestMapper.class.getName(), UserMapper.class.getName(), "org.mybatis.spring.NoSuchMapper"));
+    mapperFactoryBean.afterPropertiesSet();
+
+    // the other mappers of the group are prepared but added by their own beans
+    verify(reflectorFactory).findForClass(User.class);
+    assertThat(configuration.hasMapper(TestMapper.class)).isTrue();
+    assertThat(configuration.hasMapper(UserMapper.class)).isFalse();
+
+    mapperFactoryBean.getObject().findTest();
+
+    assertCommit(); // SqlSesssionTemplate autocommits
+    assertSingleConnection();
+    assertExecuteCount(1);
+  }
+
   // will fail because TestDao's mapper config is never loaded
   @Test
   void testAddToConfigFalse() throws Throwable {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.sample.domain.User;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import reactor.core.scheduler.Schedulers;
+
+class ReactiveMapperFactoryBeanTest {
+
+  private EmbeddedDatabase dataSource;
+
+  private SqlSessionTemplate sqlSessionTemplate;
+
+  private ReactiveUserMapper mapper;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.dataSource = new EmbeddedDatabaseBuilder().generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL)
+        .addScript("org/mybatis/spring/sample/db/database-schema.sql")
+        .addScript("org/mybatis/spring/sample/db/database-test-data.sql").build();
+
+    var sqlSessionFactoryBean = new SqlSessionFactoryBean();
+    sqlSessionFactoryBean.setDataSource(this.dataSource);
+
+    this.sqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactoryBean.getObject());
+
+    var factoryBean = new ReactiveMapperFactoryBean<>(ReactiveUserMapper.class);
+    factoryBean.setSqlSessionTemplate(this.sqlSessionTemplate);
+    factoryBean.afterPropertiesSet();
+    this.mapper = factoryBean.getObject();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.dataSource.shutdown();
+  }
+
+  @Test
+  void testMono() {
+    assertThat(this.mapper.findUser("u1").map(User::getName).block()).isEqualTo("Pocoyo");
+    assertThat(this.mapper.findUser("none").blockOptional()).isEmpty();
+  }
+
+  @Test
+  void testMonoOfList() {
+    assertThat(this.mapper.findUsers().block()).extracting(User::getId).containsExactly("u1", "u2", "u3", "u4",
+        "u5");
+  }
+
+  @Test
+  void testFlux() {
+    assertThat(this.mapper.findAllUsers().map(User::getId).collectList().block()).containsExactly("u1", "u2", "u3",
+        "u4", "u5");
+    assertThat(this.mapper.findAllUsers().take(2).map(User::getId).collectList().block()).containsExactly("u1", "u2");
+    assertThat(this.mapper.findAllUsers().count().block()).isEqualTo(5);
+  }
+
+  @Test
+  void testStatementOfParentInterface() throws Exception {
+    var factoryBean = new ReactiveMapperFactoryBean<>(ReactiveUserChildMapper.class);
+    factoryBean.setSqlSessionTemplate(this.sqlSessionTemplate);
+    factoryBean.afterPropertiesSet();
+
+    // findAll is declared by ReactiveBaseMapper but bound in the namespace of ReactiveUserMapper
+    assertThat(factoryBean.getObject().findAll().map(User::getId).collectList().block()).containsExactly("u1", "u2",
+        "u3", "u4", "u5");
+  }
+
+  @Test
+  void testFluxExceptionTranslation() {
+    assertThatThrownBy(() -> this.mapper.findFail().blockLast()).isInstanceOf(DataAccessException.class);
+  }
+
+  @Test
+  void testUpdate() {
+    assertThat(this.mapper.renameUser("u1", "Pocoyo!").block()).isEqualTo(1);
+    assertThat(this.mapper.getUser("u1").getName()).isEqualTo("Pocoyo!");
+  }
+
+  @Test
+  void testDefaultMethod() {
+    assertThat(this.mapper.findUserName("u2").block()).isEqualTo("Pato");
+  }
+
+  @Test
+  void testRunsOnScheduler() throws Exception {
+    var scheduler = Schedulers.newSingle("mapper");
+    try {
+      var factoryBean = new ReactiveMapperFactoryBean<>(ReactiveUserMapper.class);
+      var sqlSessionFactoryBean = new SqlSessionFactoryBean();
+      sqlSessionFactoryBean.setDataSource(this.dataSource);
+      factoryBean.setSqlSessionFactory(sqlSessionFactoryBean.getObject());
+      factoryBean.setScheduler(scheduler);
+      factoryBean.afterPropertiesSet();
+
+      var thread = factoryBean.getObject().findUser("u1").map(user -> Thread.currentThread().getName()).block();
+
+      assertThat(thread).startsWith("mapper");
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mybatis.spring.reactive;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Param;
+import org.mybatis.spring.sample.domain.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserMapper extends ReactiveBaseMapper<User> {
+
+  Mono<User> findUser(String id);
+
+  Mono<List<User>> findUsers();
+
+  Flux<User> findAllUsers();
+
+  Flux<User> findFail();
+
+  Mono<Integer> renameUser(@Param("id") String id, @Param("name") String name);
+
+  User getUser(String id);
+
+  default Mono<String> findUserName(String id) {
+    return findUser(id).map(User::getName);
+  }
+
+}